@@ -0,0 +1,82 @@
+package cl.duoc.ms_auth.client;
+
+import com.nimbusds.jose.JOSEObjectType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Codificación del perfil compacto de tokens.
+ * <p>
+ * En lugar de {@code userId} (UUID de 36 caracteres), {@code roles} (arreglo de nombres) y {@code labCode},
+ * el perfil compacto usa {@code uid} (los 16 bytes del UUID en base64url, 22 caracteres),
+ * {@code rl} (máscara de bits según la posición del rol en {@code auth.jwt.compact.roles}) y {@code lab}.
+ * El catálogo de roles solo admite agregar nombres al final: cambiar el orden invalida los tokens emitidos.
+ * Los tokens compactos se identifican por la cabecera {@code typ: at+jwt} y, como los estándar, llevan {@code iss}.
+ * <p>
+ * ms-auth la usa para emitir y validar, y {@link JwtVerifier} para verificar en los servicios consumidores:
+ * es la única definición del perfil.
+ */
+public class CompactClaims {
+
+    public static final JOSEObjectType TYPE = new JOSEObjectType("at+jwt");
+    /** Catálogo por defecto de ms-auth ({@code auth.jwt.compact.roles}). */
+    public static final List<String> DEFAULT_ROLE_CATALOG = List.of("ADMIN", "LAB_TECH", "SERVICE");
+    public static final String USER_ID = "uid";
+    public static final String ROLES = "rl";
+    public static final String LAB_CODE = "lab";
+
+    private final List<String> roleCatalog;
+
+    public CompactClaims(List<String> roleCatalog) {
+        if (roleCatalog.size() > 63) throw new IllegalArgumentException("El catálogo de roles admite hasta 63 roles");
+        this.roleCatalog = List.copyOf(roleCatalog);
+    }
+
+    /**
+     * Codifica los roles como máscara de bits.
+     *
+     * @param roles Los nombres de rol.
+     * @return la máscara, o {@code -1} si algún rol no está en el catálogo.
+     */
+    public long encodeRoles(List<String> roles) {
+        long mask = 0;
+        for (String r : roles) {
+            int bit = roleCatalog.indexOf(r);
+            if (bit < 0) return -1;
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Decodifica una máscara de bits a nombres de rol, en el orden del catálogo.
+     *
+     * @param mask La máscara de roles.
+     * @return la lista inmutable de nombres de rol.
+     */
+    public List<String> decodeRoles(long mask) {
+        List<String> roles = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < roleCatalog.size(); i++) {
+            if ((mask & (1L << i)) != 0) roles.add(roleCatalog.get(i));
+        }
+        return List.copyOf(roles);
+    }
+
+    public static String encodeUserId(UUID id) {
+        ByteBuffer bb = ByteBuffer.allocate(16);
+        bb.putLong(id.getMostSignificantBits());
+        bb.putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bb.array());
+    }
+
+    public static String decodeUserId(String encoded) {
+        byte[] raw = Base64.getUrlDecoder().decode(encoded);
+        if (raw.length != 16) throw new IllegalArgumentException("uid debe tener 16 bytes");
+        ByteBuffer bb = ByteBuffer.wrap(raw);
+        return new UUID(bb.getLong(), bb.getLong()).toString();
+    }
+}
@@ -0,0 +1,219 @@
+package cl.duoc.ms_auth.client;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fuente de claves públicas obtenidas del endpoint {@code /.well-known/jwks.json} de ms-auth.
+ * <p>
+ * Las claves se cachean por {@code kid} en una instantánea inmutable que se reemplaza de forma atómica:
+ * <ul>
+ *     <li>Un hilo de fondo refresca el JWKS cada {@code refreshInterval}.</li>
+ *     <li>Si la instantánea supera {@code ttl} pero sigue dentro de {@code ttl + staleWindow}, se usa tal cual
+ *     y se dispara un refresco asíncrono (stale-while-revalidate).</li>
+ *     <li>Un {@code kid} desconocido, la primera carga y una instantánea más antigua que {@code ttl + staleWindow}
+ *     fuerzan un refresco síncrono. Cada uno de los dos casos (kid desconocido; carga o instantánea vencida) inicia
+ *     como máximo un refresco cada {@code minForcedRefresh}, para soportar rotación de claves sin permitir que tokens inventados (o ms-auth caído) multipliquen las
+ *     peticiones al JWKS.</li>
+ *     <li>Solo hay un refresco en curso a la vez: los llamadores concurrentes esperan su resultado en lugar de
+ *     volver sin la clave nueva o de lanzar otra petición.</li>
+ *     <li>Si el refresco falla se conserva la última instantánea conocida.</li>
+ * </ul>
+ */
+public class JwksKeySource implements AutoCloseable {
+
+    /**
+     * Obtiene el documento JWKS en bruto.
+     */
+    @FunctionalInterface
+    public interface JwksFetcher {
+        String fetch() throws IOException, InterruptedException;
+    }
+
+    private record Snapshot(Map<String, RSAPublicKey> byKid, List<RSAPublicKey> all, Instant fetchedAt) {}
+
+    private final JwksFetcher fetcher;
+    private final Duration ttl;
+    private final Duration staleWindow;
+    private final Duration minForcedRefresh;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    // Refresco en curso, compartido por todos los que lo esperan
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    // Instante (epoch ms) a partir del cual se admite otro refresco síncrono: por kid desconocido y por carga/vencimiento
+    private final AtomicLong nextKidRefresh = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong nextLoadRefresh = new AtomicLong(Long.MIN_VALUE);
+    private volatile Snapshot snapshot;
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeySource.class);
+
+    /**
+     * Crea una fuente de claves que consulta el JWKS de ms-auth por HTTP.
+     *
+     * @param jwksUri         La URL del JWKS, por ejemplo {@code http://ms-auth:8080/.well-known/jwks.json}.
+     * @param refreshInterval Cada cuánto se refresca el JWKS en segundo plano.
+     * @param ttl             Antigüedad a partir de la cual la instantánea se considera vencida.
+     * @param staleWindow     Tiempo adicional durante el cual se sirve una instantánea vencida mientras se revalida.
+     */
+    public JwksKeySource(URI jwksUri, Duration refreshInterval, Duration ttl, Duration staleWindow) {
+        this(httpFetcher(jwksUri), refreshInterval, ttl, staleWindow, Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    JwksKeySource(JwksFetcher fetcher, Duration refreshInterval, Duration ttl, Duration staleWindow,
+                  Duration minForcedRefresh, Clock clock) {
+        this.fetcher = fetcher;
+        this.ttl = ttl;
+        this.staleWindow = staleWindow;
+        this.minForcedRefresh = minForcedRefresh;
+        this.clock = clock;
+        if (refreshInterval != null && !refreshInterval.isZero()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "jwks-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+            long millis = refreshInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(() -> refresh(null), millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Devuelve las claves candidatas para verificar un token.
+     *
+     * @param kid El {@code kid} de la cabecera del token; si es nulo se devuelven todas las claves conocidas.
+     * @return las claves candidatas, posiblemente vacía si el {@code kid} no existe.
+     */
+    public List<RSAPublicKey> keysFor(String kid) {
+        Snapshot snap = current();
+        if (snap == null) return List.of();
+        if (kid == null) return snap.all();
+
+        RSAPublicKey key = snap.byKid().get(kid);
+        if (key != null) return List.of(key);
+
+        logger.debug("kid {} desconocido, refrescando JWKS.", kid);
+        Snapshot fresh = refresh(nextKidRefresh);
+        key = fresh == null ? null : fresh.byKid().get(kid);
+        return key == null ? List.of() : List.of(key);
+    }
+
+    private Snapshot current() {
+        Snapshot snap = snapshot;
+        if (snap == null) return refresh(nextLoadRefresh);
+        Duration age = Duration.between(snap.fetchedAt(), clock.instant());
+        if (age.compareTo(ttl) <= 0) return snap;
+        if (age.compareTo(ttl.plus(staleWindow)) <= 0) {
+            refreshAsync();
+            return snap;
+        }
+        Snapshot fresh = refresh(nextLoadRefresh);
+        return fresh != null ? fresh : snap;
+    }
+
+    private void refreshAsync() {
+        if (scheduler == null) {
+            refresh(null);
+        } else if (inFlight.get() == null) {
+            scheduler.execute(() -> refresh(null));
+        }
+    }
+
+    /**
+     * Refresca el JWKS o, si ya hay un refresco en curso, espera su resultado.
+     *
+     * @param limiter El límite de {@code minForcedRefresh} que aplica, o {@code null} para el refresco de fondo.
+     * @return la instantánea vigente al terminar, posiblemente nula si nunca se pudo cargar.
+     */
+    private Snapshot refresh(AtomicLong limiter) {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) return await(running);
+        try {
+            mine.complete(limiter != null && !tryAcquire(limiter) ? snapshot : fetchSnapshot());
+        } catch (Throwable e) {
+            mine.complete(snapshot);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+        return mine.join();
+    }
+
+    private boolean tryAcquire(AtomicLong limiter) {
+        long now = clock.millis();
+        long next = limiter.get();
+        return now >= next && limiter.compareAndSet(next, now + minForcedRefresh.toMillis());
+    }
+
+    private Snapshot await(CompletableFuture<Snapshot> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // refresh() siempre completa con un valor
+        }
+        return snapshot;
+    }
+
+    private Snapshot fetchSnapshot() {
+        try {
+            JWKSet set = JWKSet.parse(fetcher.fetch());
+            Map<String, RSAPublicKey> byKid = new HashMap<>();
+            List<RSAPublicKey> all = new ArrayList<>();
+            for (JWK jwk : set.getKeys()) {
+                if (!(jwk instanceof RSAKey rsa)) continue;
+                RSAPublicKey pub = rsa.toRSAPublicKey();
+                all.add(pub);
+                if (rsa.getKeyID() != null) byKid.put(rsa.getKeyID(), pub);
+            }
+            snapshot = new Snapshot(Map.copyOf(byKid), List.copyOf(all), clock.instant());
+            logger.debug("JWKS refrescado: {} claves.", all.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("No se pudo refrescar el JWKS, se mantiene la última copia: {}", e.getMessage());
+        }
+        return snapshot;
+    }
+
+    private static JwksFetcher httpFetcher(URI jwksUri) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(Duration.ofSeconds(5)).GET().build();
+        return () -> {
+            HttpResponse<String> res = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (res.statusCode() != 200) throw new IOException("JWKS respondió " + res.statusCode());
+            return res.body();
+        };
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package cl.duoc.ms_auth.client;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+/**
+ * Equivalente a {@code JwtAuthFilter} de ms-auth para los microservicios consumidores.
+ * Si la cabecera {@code Authorization: Bearer} trae un token válido, publica la autenticación
+ * con autoridades {@code ROLE_<rol>} y el {@link JwtVerifier.VerifiedToken} como detalles.
+ * <p>
+ * Uso: {@code http.addFilterBefore(new JwtVerificationFilter(verifier), UsernamePasswordAuthenticationFilter.class)}.
+ */
+public class JwtVerificationFilter extends OncePerRequestFilter {
+
+    private final JwtVerifier verifier;
+
+    public JwtVerificationFilter(JwtVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        String auth = req.getHeader(HttpHeaders.AUTHORIZATION);
+        if (auth != null && auth.startsWith("Bearer ")) {
+            verifier.verify(auth.substring(7)).ifPresent(token -> {
+                var authorities = token.roles().stream()
+                        .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                        .collect(Collectors.toUnmodifiableSet());
+                var authentication = new UsernamePasswordAuthenticationToken(token.username(), null, authorities);
+                authentication.setDetails(token);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
+        }
+        chain.doFilter(req, res);
+    }
+}
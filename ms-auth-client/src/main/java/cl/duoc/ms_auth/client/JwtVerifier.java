@@ -0,0 +1,116 @@
+package cl.duoc.ms_auth.client;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verificador local de tokens RS256 emitidos por ms-auth.
+ * Aplica las mismas reglas que {@code JwtUtils} del servicio (tipo JWT, firma, emisor y expiración)
+ * usando las claves publicadas en el JWKS, sin llamar a ms-auth por cada petición.
+ * Acepta tanto el formato estándar ({@code typ: JWT}) como el perfil compacto ({@link CompactClaims});
+ * para este último el catálogo de roles debe coincidir con {@code auth.jwt.compact.roles} de ms-auth.
+ */
+public class JwtVerifier {
+
+    private final JwksKeySource keySource;
+    private final String expectedIssuer;
+    private final CompactClaims compactClaims;
+    private final Duration clockSkew;
+    private final Clock clock;
+    private final Map<RSAPublicKey, RSASSAVerifier> verifiers = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    public JwtVerifier(JwksKeySource keySource, String expectedIssuer) {
+        this(keySource, expectedIssuer, CompactClaims.DEFAULT_ROLE_CATALOG, Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    public JwtVerifier(JwksKeySource keySource, String expectedIssuer, List<String> roleCatalog,
+                       Duration clockSkew, Clock clock) {
+        this.keySource = keySource;
+        this.expectedIssuer = expectedIssuer;
+        this.compactClaims = new CompactClaims(roleCatalog);
+        this.clockSkew = clockSkew;
+        this.clock = clock;
+    }
+
+    /**
+     * Valida un token y extrae su payload.
+     *
+     * @param token El token JWT serializado.
+     * @return el payload si el token es válido; vacío en cualquier otro caso.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            var header = jwt.getHeader();
+            if (!JWSAlgorithm.RS256.equals(header.getAlgorithm())) return Optional.empty();
+            // "typ" obligatorio: JWT (estándar) o at+jwt (perfil compacto)
+            boolean compact = Objects.equals(header.getType(), CompactClaims.TYPE);
+            if (!compact && !Objects.equals(header.getType(), JOSEObjectType.JWT)) return Optional.empty();
+
+            boolean valid = false;
+            for (RSAPublicKey key : keySource.keysFor(header.getKeyID())) {
+                if (jwt.verify(verifiers.computeIfAbsent(key, RSASSAVerifier::new))) {
+                    valid = true;
+                    break;
+                }
+            }
+            if (!valid) {
+                logger.debug("Firma inválida o kid desconocido: {}", header.getKeyID());
+                return Optional.empty();
+            }
+
+            var claims = jwt.getJWTClaimsSet();
+            if (expectedIssuer != null && !expectedIssuer.equals(claims.getIssuer())) return Optional.empty();
+
+            var exp = claims.getExpirationTime();
+            if (exp == null || clock.instant().minus(clockSkew).isAfter(exp.toInstant())) return Optional.empty();
+
+            if (compact) {
+                Long mask = claims.getLongClaim(CompactClaims.ROLES);
+                return Optional.of(new VerifiedToken(
+                        claims.getSubject(),
+                        CompactClaims.decodeUserId(claims.getStringClaim(CompactClaims.USER_ID)),
+                        mask == null ? List.of() : compactClaims.decodeRoles(mask),
+                        claims.getStringClaim(CompactClaims.LAB_CODE),
+                        exp.toInstant()));
+            }
+            @SuppressWarnings("unchecked")
+            List<String> roles = (List<String>) claims.getClaim("roles");
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    Objects.toString(claims.getClaim("userId"), null),
+                    roles == null ? List.of() : List.copyOf(roles),
+                    Objects.toString(claims.getClaim("labCode"), null),
+                    exp.toInstant()));
+        } catch (Exception e) {
+            logger.debug("Error durante la validación del token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Payload de un token verificado.
+     *
+     * @param username  El subject del token.
+     * @param userId    El ID externo del usuario.
+     * @param roles     Los roles del usuario.
+     * @param labCode   El código de laboratorio (nulo si no aplica).
+     * @param expiresAt La expiración del token.
+     */
+    public record VerifiedToken(String username, String userId, List<String> roles, String labCode, Instant expiresAt) {}
+}
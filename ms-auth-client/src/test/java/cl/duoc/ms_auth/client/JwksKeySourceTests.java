@@ -0,0 +1,133 @@
+package cl.duoc.ms_auth.client;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwksKeySourceTests {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentFirstLoadsShareOneFetch() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        String jwks = new JWKSet(key.toPublicJWK()).toString();
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        var source = new JwksKeySource(() -> {
+            fetches.incrementAndGet();
+            release.await();
+            return jwks;
+        }, Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ofMinutes(1), Clock.systemUTC());
+
+        List<List<RSAPublicKey>> results = concurrently(() -> source.keysFor(key.getKeyID()), release);
+        assertThat(results).allSatisfy(keys -> assertThat(keys).hasSize(1));
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void concurrentUnknownKidsWaitForTheRotation() throws Exception {
+        RSAKey first = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        RSAKey second = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        AtomicReference<String> jwks = new AtomicReference<>(new JWKSet(first.toPublicJWK()).toString());
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        var source = new JwksKeySource(() -> {
+            if (fetches.incrementAndGet() > 1) release.await();
+            return jwks.get();
+        }, Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ofMinutes(1), Clock.systemUTC());
+        assertThat(source.keysFor(first.getKeyID())).hasSize(1);
+
+        // Con minForcedRefresh de un minuto solo un llamador refresca; el resto espera ese mismo refresco
+        jwks.set(new JWKSet(List.of(first.toPublicJWK(), second.toPublicJWK())).toString());
+        List<List<RSAPublicKey>> results = concurrently(() -> source.keysFor(second.getKeyID()), release);
+        assertThat(results).allSatisfy(keys -> assertThat(keys).hasSize(1));
+        assertThat(fetches).hasValue(2);
+
+        // Un kid inventado dentro del intervalo mínimo no genera otra petición
+        assertThat(source.keysFor("inventado")).isEmpty();
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void expiredSnapshotRefreshIsRateLimited() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        String jwks = new JWKSet(key.toPublicJWK()).toString();
+        AtomicInteger fetches = new AtomicInteger();
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+        var source = new JwksKeySource(() -> {
+            if (fetches.incrementAndGet() > 1) throw new IOException("ms-auth caído");
+            return jwks;
+        }, Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ofSeconds(30), clock);
+        assertThat(source.keysFor(key.getKeyID())).hasSize(1);
+
+        // Vencida más allá de la ventana stale: cada llamada intentaría un fetch síncrono
+        clock.advance(Duration.ofMinutes(30));
+        for (int i = 0; i < 10; i++) assertThat(source.keysFor(key.getKeyID())).hasSize(1);
+        assertThat(fetches).hasValue(2);
+
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(source.keysFor(key.getKeyID())).hasSize(1);
+        assertThat(fetches).hasValue(3);
+    }
+
+    /**
+     * Lanza {@link #THREADS} llamadas a la vez, libera el fetch bloqueado y devuelve los resultados.
+     */
+    private static <T> List<T> concurrently(java.util.concurrent.Callable<T> call, CountDownLatch release) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            Thread.sleep(200);
+            release.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> f : futures) results.add(f.get(10, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public Instant instant() { return now; }
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    }
+}
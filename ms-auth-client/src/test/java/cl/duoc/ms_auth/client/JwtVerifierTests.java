@@ -0,0 +1,132 @@
+package cl.duoc.ms_auth.client;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtVerifierTests {
+
+    private static final String ISSUER = "auth-ms";
+
+    @Test
+    void verifiesTokenAndRefreshesOnUnknownKid() throws Exception {
+        RSAKey first = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        RSAKey second = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        AtomicReference<String> jwks = new AtomicReference<>(new JWKSet(first.toPublicJWK()).toString());
+        AtomicInteger fetches = new AtomicInteger();
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+        var source = new JwksKeySource(() -> { fetches.incrementAndGet(); return jwks.get(); },
+                Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ZERO, clock);
+        var verifier = new JwtVerifier(source, ISSUER, CompactClaims.DEFAULT_ROLE_CATALOG, Duration.ZERO, clock);
+
+        var payload = verifier.verify(sign(first, clock.instant())).orElseThrow();
+        assertThat(payload.username()).isEqualTo("tec1@demo.cl");
+        assertThat(payload.roles()).containsExactly("LAB_TECH");
+        assertThat(fetches).hasValue(1);
+
+        // Rotación: el kid nuevo fuerza un refresco
+        jwks.set(new JWKSet(List.of(first.toPublicJWK(), second.toPublicJWK())).toString());
+        assertThat(verifier.verify(sign(second, clock.instant()))).isPresent();
+        assertThat(fetches).hasValue(2);
+
+        assertThat(verifier.verify(sign(first, clock.instant().minus(Duration.ofHours(1))))).isEmpty();
+    }
+
+    @Test
+    void keepsStaleKeysWhenRefreshFails() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        String jwks = new JWKSet(key.toPublicJWK()).toString();
+        AtomicInteger fetches = new AtomicInteger();
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+        var source = new JwksKeySource(() -> {
+            if (fetches.incrementAndGet() > 1) throw new IOException("ms-auth caído");
+            return jwks;
+        }, Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ZERO, clock);
+
+        assertThat(source.keysFor(key.getKeyID())).hasSize(1);
+        clock.advance(Duration.ofMinutes(30));
+        assertThat(source.keysFor(key.getKeyID())).hasSize(1);
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void compactProfileRequiresTypeAndIssuer() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        var source = new JwksKeySource(() -> new JWKSet(key.toPublicJWK()).toString(),
+                Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ZERO, clock);
+        var verifier = new JwtVerifier(source, ISSUER, CompactClaims.DEFAULT_ROLE_CATALOG, Duration.ZERO, clock);
+
+        var payload = verifier.verify(signCompact(key, CompactClaims.TYPE, ISSUER, clock.instant())).orElseThrow();
+        assertThat(payload.userId()).isEqualTo("0b6f7c1e-2f0a-4c55-9d0e-3c1f1b2a4d5e");
+        assertThat(payload.roles()).containsExactly("ADMIN", "SERVICE");
+
+        // Sin iss, o sin typ, no se acepta aunque la firma sea válida
+        assertThat(verifier.verify(signCompact(key, CompactClaims.TYPE, null, clock.instant()))).isEmpty();
+        assertThat(verifier.verify(signCompact(key, null, ISSUER, clock.instant()))).isEmpty();
+    }
+
+    private static String signCompact(RSAKey key, JOSEObjectType type, String issuer, Instant issuedAt) throws Exception {
+        var claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject("svc@demo.cl")
+                .issueTime(Date.from(issuedAt))
+                .expirationTime(Date.from(issuedAt.plus(Duration.ofMinutes(20))))
+                .claim("uid", "C298Hi8KTFWdDjwfGypNXg")
+                .claim("rl", 0b101L)
+                .build();
+        var header = new JWSHeader.Builder(JWSAlgorithm.RS256).type(type).keyID(key.getKeyID()).build();
+        var jwt = new SignedJWT(header, claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static String sign(RSAKey key, Instant issuedAt) throws Exception {
+        var claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject("tec1@demo.cl")
+                .issueTime(Date.from(issuedAt))
+                .expirationTime(Date.from(issuedAt.plus(Duration.ofMinutes(20))))
+                .claim("userId", "0b6f7c1e-2f0a-4c55-9d0e-3c1f1b2a4d5e")
+                .claim("roles", List.of("LAB_TECH"))
+                .claim("labCode", "BIOCHECK")
+                .build();
+        var header = new JWSHeader.Builder(JWSAlgorithm.RS256).type(JOSEObjectType.JWT).keyID(key.getKeyID()).build();
+        var jwt = new SignedJWT(header, claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public Instant instant() { return now; }
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+    }
+}
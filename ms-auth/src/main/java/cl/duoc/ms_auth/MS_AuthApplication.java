@@ -2,8 +2,10 @@ package cl.duoc.ms_auth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MS_AuthApplication {
 
 	public static void main(String[] args) {
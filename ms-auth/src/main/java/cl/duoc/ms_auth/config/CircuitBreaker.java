@@ -0,0 +1,126 @@
+package cl.duoc.ms_auth.config;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker por tasa de fallos sobre las últimas llamadas.
+ * <p>
+ * Cerrado: deja pasar todo y registra el resultado de las últimas {@code windowSize} llamadas; con al menos
+ * {@code minCalls} registradas y una proporción de fallos de {@code failureThreshold} o más, se abre. Abierto:
+ * rechaza todo durante {@code openNanos}. Después pasa a semiabierto y deja pasar una única llamada de
+ * prueba: si funciona se cierra con la ventana vacía; si falla, vuelve a abrirse.
+ * <p>
+ * Cada cambio de estado inicia una generación nueva. {@link #allow()} devuelve la generación de la llamada
+ * y el resultado se informa con ella: los resultados de una generación anterior (llamadas lentas que
+ * empezaron con el breaker cerrado) se ignoran, así que solo la llamada de prueba decide el semiabierto.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    /**
+     * Valor de {@link #allow()} cuando la llamada no puede hacerse.
+     */
+    public static final long REJECTED = -1;
+
+    private final boolean[] outcomes;
+    private final int minCalls;
+    private final double failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+    // Se escriben con el monitor del objeto
+    private volatile State state = State.CLOSED;
+    private volatile long generation;
+    private volatile long openedAt;
+    // Ventana circular de resultados; solo se usa con el monitor del objeto
+    private int next;
+    private int recorded;
+    private int failures;
+
+    public CircuitBreaker(int windowSize, int minCalls, double failureThreshold, long openNanos) {
+        this(windowSize, minCalls, failureThreshold, openNanos, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minCalls, double failureThreshold, long openNanos, LongSupplier nanoTime) {
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, outcomes.length));
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Indica si la llamada puede hacerse. Si no devuelve {@link #REJECTED}, el llamador debe informar
+     * siempre el resultado con {@link #onSuccess(long)} o {@link #onFailure(long)}, pasando el valor devuelto.
+     *
+     * @return la generación de la llamada, o {@link #REJECTED}.
+     */
+    public long allow() {
+        State s = state;
+        if (s == State.CLOSED) return generation;
+        if (s == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+            synchronized (this) {
+                // Solo el primero que llega tras el tiempo abierto hace la llamada de prueba
+                if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+                    state = State.HALF_OPEN;
+                    return ++generation;
+                }
+            }
+        }
+        return REJECTED;
+    }
+
+    public synchronized void onSuccess(long callGeneration) {
+        if (callGeneration != generation) return;
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        if (state == State.CLOSED) record(false);
+    }
+
+    public synchronized void onFailure(long callGeneration) {
+        if (callGeneration != generation) return;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state != State.CLOSED) return;
+        record(true);
+        if (recorded >= minCalls && failures >= failureThreshold * recorded) open();
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Segundos que faltan para la siguiente llamada de prueba (mínimo 1).
+     */
+    public long retryAfterSeconds() {
+        long remaining = openNanos - (nanoTime.getAsLong() - openedAt);
+        return Math.max(1, (remaining + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length && outcomes[next]) failures--;
+        outcomes[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % outcomes.length;
+        if (recorded < outcomes.length) recorded++;
+    }
+
+    private void open() {
+        openedAt = nanoTime.getAsLong();
+        generation++;
+        state = State.OPEN;
+    }
+
+    private void close() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        generation++;
+        state = State.CLOSED;
+    }
+}
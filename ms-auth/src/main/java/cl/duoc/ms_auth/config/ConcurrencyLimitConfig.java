@@ -0,0 +1,45 @@
+package cl.duoc.ms_auth.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Registro de {@link ConcurrencyLimitFilter}. Cada clase de ruta lee
+ * {@code auth.concurrency.<clase>.initial-limit|min-limit|max-limit}; la tolerancia, el suavizado y la
+ * ventana son comunes. Va justo después del filtro de observaciones, para que los 503 aparezcan en
+ * {@code http.server.requests}, y antes de Spring Security.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "auth.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(Environment env, MeterRegistry registry) {
+        double tolerance = env.getProperty("auth.concurrency.tolerance", Double.class, 1.5);
+        double smoothing = env.getProperty("auth.concurrency.smoothing", Double.class, 0.2);
+        long windowNanos = Duration.ofMillis(env.getProperty("auth.concurrency.window-ms", Long.class, 1000L)).toNanos();
+        int minSamples = env.getProperty("auth.concurrency.min-window-samples", Integer.class, 10);
+
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(route -> {
+            String prefix = "auth.concurrency." + route.name().toLowerCase(Locale.ROOT) + ".";
+            return new GradientLimiter(
+                    env.getProperty(prefix + "initial-limit", Integer.class, 50),
+                    env.getProperty(prefix + "min-limit", Integer.class, 4),
+                    env.getProperty(prefix + "max-limit", Integer.class, 500),
+                    tolerance, smoothing, windowNanos, minSamples);
+        }, registry);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
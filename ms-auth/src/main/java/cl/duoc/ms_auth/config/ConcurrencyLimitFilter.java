@@ -0,0 +1,90 @@
+package cl.duoc.ms_auth.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Limitador de concurrencia adaptativo para toda la API, antes de la cadena de seguridad.
+ * <p>
+ * Cada clase de ruta tiene su propio {@link GradientLimiter}, de modo que una avalancha de logins no deja
+ * sin capacidad a las lecturas ni al health check del orquestador. Lo que excede el límite se rechaza de
+ * inmediato con 503 y {@code Retry-After: 1}, sin pasar por la seguridad ni tocar la BD. Las peticiones
+ * asíncronas (long-polling, SSE) liberan su lugar al pasar a modo asíncrono y no aportan muestras de latencia.
+ * Métricas: {@code auth.concurrency.limit}, {@code auth.concurrency.in-flight} y
+ * {@code auth.concurrency.rejected}, con la etiqueta {@code route}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Clases de ruta con límite independiente.
+     */
+    public enum RouteClass { LOGIN, WRITES, READS, INFRA }
+
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":503,\"error\":\"Service Unavailable\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<RouteClass, GradientLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+
+    public ConcurrencyLimitFilter(Function<RouteClass, GradientLimiter> factory, MeterRegistry registry) {
+        for (RouteClass route : RouteClass.values()) {
+            GradientLimiter limiter = factory.apply(route);
+            String tag = route.name().toLowerCase(Locale.ROOT);
+            limiters.put(route, limiter);
+            rejected.put(route, Counter.builder("auth.concurrency.rejected").tag("route", tag).register(registry));
+            Gauge.builder("auth.concurrency.limit", limiter, GradientLimiter::limit).tag("route", tag).register(registry);
+            Gauge.builder("auth.concurrency.in-flight", limiter, GradientLimiter::inFlight).tag("route", tag).register(registry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass route = classify(request);
+        GradientLimiter limiter = limiters.get(route);
+        if (!limiter.tryAcquire()) {
+            rejected.get(route).increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            boolean async = request.isAsyncStarted();
+            limiter.release(System.nanoTime() - start, !async);
+        }
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (path.startsWith("/actuator/health") || path.startsWith("/.well-known/")) return RouteClass.INFRA;
+        if (path.equals("/auth/login") || path.equals("/auth/refresh")) return RouteClass.LOGIN;
+        if (path.equals("/auth/logout")) return RouteClass.WRITES;
+        if (path.startsWith("/users") && !path.equals("/users/lookup")
+                && ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method))) {
+            return RouteClass.WRITES;
+        }
+        return RouteClass.READS;
+    }
+}
@@ -0,0 +1,150 @@
+package cl.duoc.ms_auth.config;
+
+import cl.duoc.ms_auth.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.QueryTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkheads y circuit breakers de acceso a la BD, por partición.
+ * <p>
+ * {@link #login} envuelve las lecturas del login y la renovación; {@link #admin} las consultas de
+ * administración (listados, búsqueda, lookup, lecturas puntuales). Cada partición tiene:
+ * <ul>
+ *   <li>un semáforo de {@code auth.db.<partición>.max-concurrent} permisos, que acota las conexiones del pool
+ *   que puede ocupar; si no hay permiso en {@code max-wait-ms} se responde 503;</li>
+ *   <li>su propio {@link CircuitBreaker}, que solo cuenta como fallo los timeouts y los errores de conexión:
+ *   con la BD degradada se falla de inmediato con 503 en lugar de acumular hilos esperando.</li>
+ * </ul>
+ * Así un informe de administración lento agota su partición y abre su breaker, pero no el del login.
+ * Métricas: {@code auth.db.bulkhead.available}, {@code auth.db.bulkhead.rejected}, {@code auth.db.circuit.state}
+ * (0 cerrado, 1 semiabierto, 2 abierto) y {@code auth.db.circuit.calls{result}}, con la etiqueta {@code partition}.
+ */
+@Component
+public class DatabaseGuard {
+
+    private final Partition login;
+    private final Partition admin;
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseGuard.class);
+
+    public DatabaseGuard(Environment env, MeterRegistry registry) {
+        this.login = new Partition("login", env, registry, 8, 200);
+        this.admin = new Partition("admin", env, registry, 3, 1000);
+    }
+
+    public <T> T login(Supplier<T> call) {
+        return login.execute(call);
+    }
+
+    public <T> T admin(Supplier<T> call) {
+        return admin.execute(call);
+    }
+
+    /**
+     * Errores que indican una BD degradada; el resto (p. ej. restricciones, datos inexistentes) no abre el breaker.
+     */
+    static boolean isDatabaseFailure(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof TransactionTimedOutException
+                || e instanceof QueryTimeoutException;
+    }
+
+    private static final class Partition {
+        private final String name;
+        private final Semaphore permits;
+        private final long maxWaitNanos;
+        private final CircuitBreaker breaker;
+        private final Counter rejected;
+        private final Counter success;
+        private final Counter failure;
+        private final Counter shortCircuited;
+
+        Partition(String name, Environment env, MeterRegistry registry, int defaultConcurrent, long defaultWaitMs) {
+            String prefix = "auth.db." + name.toLowerCase(Locale.ROOT) + ".";
+            int maxConcurrent = env.getProperty(prefix + "max-concurrent", Integer.class, defaultConcurrent);
+            this.name = name;
+            this.permits = new Semaphore(maxConcurrent);
+            this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(env.getProperty(prefix + "max-wait-ms", Long.class, defaultWaitMs));
+            this.breaker = new CircuitBreaker(
+                    env.getProperty("auth.db.circuit.window-size", Integer.class, 20),
+                    env.getProperty("auth.db.circuit.min-calls", Integer.class, 10),
+                    env.getProperty("auth.db.circuit.failure-threshold", Double.class, 0.5),
+                    Duration.ofMillis(env.getProperty("auth.db.circuit.open-ms", Long.class, 10000L)).toNanos());
+
+            this.rejected = Counter.builder("auth.db.bulkhead.rejected").tag("partition", name).register(registry);
+            this.success = calls(registry, name, "success");
+            this.failure = calls(registry, name, "failure");
+            this.shortCircuited = calls(registry, name, "short-circuited");
+            Gauge.builder("auth.db.bulkhead.available", permits, Semaphore::availablePermits).tag("partition", name).register(registry);
+            Gauge.builder("auth.db.circuit.state", breaker, b -> b.state().ordinal()).tag("partition", name).register(registry);
+        }
+
+        <T> T execute(Supplier<T> call) {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                rejected.increment();
+                throw new ServiceUnavailableException("Servicio saturado, reintente", 1);
+            }
+            try {
+                long permit = breaker.allow();
+                if (permit == CircuitBreaker.REJECTED) {
+                    shortCircuited.increment();
+                    throw new ServiceUnavailableException("Base de datos no disponible", breaker.retryAfterSeconds());
+                }
+                // El resultado se informa en el finally, también ante un Error: una llamada de prueba sin
+                // resultado dejaría el breaker semiabierto para siempre
+                boolean failed = true;
+                RuntimeException error = null;
+                try {
+                    T result = call.get();
+                    failed = false;
+                    return result;
+                } catch (RuntimeException e) {
+                    failed = isDatabaseFailure(e);
+                    error = e;
+                    throw e;
+                } finally {
+                    if (failed) {
+                        breaker.onFailure(permit);
+                        failure.increment();
+                        if (breaker.state() == CircuitBreaker.State.OPEN) {
+                            logger.warn("Circuit breaker '{}' abierto: {}", name, error != null ? error.getMessage() : "error no recuperable");
+                        }
+                    } else {
+                        breaker.onSuccess(permit);
+                        success.increment();
+                    }
+                }
+            } finally {
+                permits.release();
+            }
+        }
+
+        private static Counter calls(MeterRegistry registry, String partition, String result) {
+            return Counter.builder("auth.db.circuit.calls").tag("partition", partition).tag("result", result).register(registry);
+        }
+    }
+}
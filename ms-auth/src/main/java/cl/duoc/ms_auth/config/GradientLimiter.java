@@ -0,0 +1,117 @@
+package cl.duoc.ms_auth.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo por gradiente de latencia.
+ * <p>
+ * Cada ventana ({@code windowNanos}, con al menos {@code minSamples} muestras) compara la latencia media
+ * de la ventana con una referencia "sin cola": la menor latencia de ventana observada, que sube lentamente
+ * hacia la actual para adaptarse si el servicio se vuelve más lento en general. Si la latencia de la ventana
+ * supera a la referencia por más de {@code tolerance}, el gradiente ({@code tolerance * referencia / actual},
+ * acotado a [0.5, 1]) reduce el límite; si no, el límite crece en {@code sqrt(límite)}. El cambio se suaviza con
+ * {@code smoothing} y queda en [min, max]. Si en la ventana nunca se usó la mitad del límite no se ajusta:
+ * la latencia no dice nada de la capacidad. {@link #tryAcquire} y {@link #release} no bloquean; solo el hilo
+ * que cierra una ventana toma un lock, con {@code tryLock}.
+ */
+public final class GradientLimiter {
+
+    // La referencia sube hacia la latencia actual en 1/REFERENCE_DRIFT de la diferencia por ventana
+    private static final double REFERENCE_DRIFT = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private volatile long windowEnd;
+    // Solo se leen y escriben con windowLock
+    private double estimatedLimit;
+    private double noLoadRtt;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                           long windowNanos, int minSamples) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minSamples = minSamples;
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowEnd = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Reserva un lugar si hay capacidad.
+     *
+     * @return {@code false} si se alcanzó el límite: la petición debe rechazarse.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) return false;
+            if (inFlight.compareAndSet(current, current + 1)) {
+                maxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar reservado.
+     *
+     * @param rttNanos La duración de la petición.
+     * @param sample   Si la duración debe considerarse (no en peticiones asíncronas de larga duración).
+     */
+    public void release(long rttNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample) return;
+        rttSum.add(rttNanos);
+        samples.increment();
+        long now = System.nanoTime();
+        if (now - windowEnd >= 0 && windowLock.tryLock()) {
+            try {
+                if (now - windowEnd >= 0) closeWindow(now);
+            } finally {
+                windowLock.unlock();
+            }
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void closeWindow(long now) {
+        long count = samples.sum();
+        if (count < minSamples) return;
+        double shortRtt = (double) rttSum.sumThenReset() / count;
+        samples.reset();
+        int peak = maxInFlight.getAndSet(inFlight.get());
+        windowEnd = now + windowNanos;
+
+        noLoadRtt = noLoadRtt == 0 || shortRtt < noLoadRtt ? shortRtt : noLoadRtt + (shortRtt - noLoadRtt) / REFERENCE_DRIFT;
+        if (peak < estimatedLimit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * noLoadRtt / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double next = estimatedLimit * (1 - smoothing) + target * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,84 @@
+package cl.duoc.ms_auth.config;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular acotado sin bloqueos para varios productores y un único consumidor.
+ * <p>
+ * Los productores reservan una posición con un CAS sobre la cola y publican el elemento en su ranura; el
+ * consumidor avanza la cabeza y limpia las ranuras leídas. Si el buffer está lleno {@link #offer} devuelve
+ * {@code false} sin esperar: el productor decide qué hacer (normalmente contar y descartar). La capacidad
+ * se redondea a la siguiente potencia de 2.
+ *
+ * @param <E> El tipo de los elementos.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    // Próxima posición a reservar (productores)
+    private final AtomicLong tail = new AtomicLong();
+    // Próxima posición a leer; solo la escribe el consumidor
+    private volatile long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad inválida: " + requestedCapacity);
+        }
+        int cap = 1;
+        while (cap < requestedCapacity) cap <<= 1;
+        this.capacity = cap;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Agrega un elemento; puede llamarse desde cualquier hilo.
+     *
+     * @return {@code false} si el buffer está lleno.
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        long t;
+        do {
+            t = tail.get();
+            if (t - head >= capacity) return false;
+        } while (!tail.compareAndSet(t, t + 1));
+        slots.set((int) t & mask, element);
+        return true;
+    }
+
+    /**
+     * Mueve hasta {@code max} elementos a {@code out}, en orden de reserva. Solo desde el hilo consumidor.
+     * Se detiene ante una ranura reservada pero aún no publicada; esos elementos salen en la siguiente llamada.
+     *
+     * @return la cantidad de elementos movidos.
+     */
+    public int drainTo(Collection<? super E> out, int max) {
+        long h = head;
+        int n = 0;
+        while (n < max) {
+            int i = (int) h & mask;
+            E element = slots.get(i);
+            if (element == null) break;
+            slots.lazySet(i, null);
+            out.add(element);
+            h++;
+            n++;
+        }
+        head = h;
+        return n;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,76 @@
+package cl.duoc.ms_auth.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * DataSources para lectura desde una réplica. Solo se activa con {@code auth.datasource.replica.url};
+ * sin ella se usa el DataSource autoconfigurado de {@code spring.datasource.*}.
+ * <p>
+ * La BD principal mantiene la configuración de {@code spring.datasource.*} (pool en
+ * {@code spring.datasource.hikari.*}) y es la que migra Flyway. La réplica tiene su propio pool
+ * ({@code auth.datasource.replica.hikari.*}). JPA recibe el DataSource enrutado, ver
+ * {@link ReadWriteRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "auth.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("auth.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${auth.datasource.replica.url}") String url,
+            @Value("${auth.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${auth.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        ds.setPoolName("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            MeterRegistry registry,
+            @Value("${auth.datasource.replica.read-your-writes-ms:5000}") long readYourWritesMs,
+            @Value("${auth.datasource.replica.max-tracked-writers:10000}") long maxTrackedWriters) {
+        return new ReadWriteRoutingDataSource(primary, replica, Duration.ofMillis(readYourWritesMs), maxTrackedWriters, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
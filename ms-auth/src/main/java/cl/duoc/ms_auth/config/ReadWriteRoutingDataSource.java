@@ -0,0 +1,162 @@
+package cl.duoc.ms_auth.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Enruta las conexiones entre la BD principal y una réplica de lectura.
+ * <p>
+ * Solo las transacciones de solo lectura ({@code @Transactional(readOnly = true)} o un
+ * {@code TransactionTemplate} con {@code readOnly}) van a la réplica; todo lo demás, incluidas las
+ * consultas sin transacción (login, revocaciones, refresh tokens), va a la principal. Debe envolverse en
+ * un {@code LazyConnectionDataSourceProxy} para que la decisión se tome en la primera sentencia, cuando
+ * la transacción ya está marcada como de solo lectura.
+ * <p>
+ * Lectura de las propias escrituras: al terminar una transacción de escritura se recuerda el usuario
+ * autenticado durante {@code auth.datasource.replica.read-your-writes-ms}, y sus lecturas en esa ventana
+ * van a la principal. Si la réplica no responde (chequeo periódico o error al obtener conexión) las
+ * lecturas vuelven a la principal hasta el siguiente chequeo correcto. Las transacciones con nombre
+ * {@link #PRIMARY_READ} leen siempre de la principal.
+ * Métricas: {@code auth.datasource.routing{target=primary|replica, reason=...}} y
+ * {@code auth.datasource.replica.healthy}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Nombre de transacción para lecturas que no toleran el retraso de la réplica (feed de cambios y lecturas
+     * que alimentan la caché de usuarios).
+     */
+    public static final String PRIMARY_READ = "primary-read";
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<String, Boolean> recentWriters;
+    private volatile boolean replicaHealthy = true;
+    private final Counter toReplica;
+    private final Counter readYourWrites;
+    private final Counter pinned;
+    private final Counter fallback;
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                      long maxTrackedWriters, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedWriters)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.toReplica = routed(registry, "replica", "read-only");
+        this.readYourWrites = routed(registry, "primary", "read-your-writes");
+        this.pinned = routed(registry, "primary", "pinned");
+        this.fallback = routed(registry, "primary", "replica-down");
+        Gauge.builder("auth.datasource.replica.healthy", this, r -> r.replicaHealthy ? 1 : 0).register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCompletion();
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            pinned.increment();
+            return Target.PRIMARY;
+        }
+        if (!replicaHealthy) {
+            fallback.increment();
+            return Target.PRIMARY;
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            readYourWrites.increment();
+            return Target.PRIMARY;
+        }
+        toReplica.increment();
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) return target.getConnection();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markDown(e);
+            fallback.increment();
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Chequeo periódico de la réplica; una réplica caída vuelve a usarse cuando responde de nuevo.
+     */
+    @Scheduled(fixedDelayString = "${auth.datasource.replica.health-interval-ms:5000}")
+    public void checkReplica() {
+        try (Connection c = replica.getConnection()) {
+            boolean valid = c.isValid(2);
+            if (valid && !replicaHealthy) logger.info("Réplica de lectura disponible de nuevo.");
+            if (!valid) markDown(null);
+            else replicaHealthy = true;
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+
+    private void markDown(SQLException cause) {
+        if (replicaHealthy) {
+            logger.warn("Réplica de lectura no disponible, se lee de la BD principal: {}",
+                    cause != null ? cause.getMessage() : "conexión inválida");
+        }
+        replicaHealthy = false;
+    }
+
+    private void rememberWriterOnCompletion() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        String user = currentUser();
+        if (user == null) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // También tras un rollback: la ventana es corta y así no depende del resultado
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) return null;
+        return auth.getName();
+    }
+
+    private static Counter routed(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("auth.datasource.routing").tag("target", target).tag("reason", reason).register(registry);
+    }
+}
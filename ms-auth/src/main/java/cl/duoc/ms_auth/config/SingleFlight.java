@@ -0,0 +1,78 @@
+package cl.duoc.ms_auth.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes idénticas en una sola ejecución ("single-flight").
+ * <p>
+ * La primera llamada con una clave ejecuta la carga; las que llegan mientras sigue en curso esperan su
+ * resultado (o su excepción) en lugar de repetirla. La espera está acotada: al vencer, la llamada hace su
+ * propia carga. El resultado se comparte entre hilos, por lo que debe ser inmutable (DTOs, no entidades JPA).
+ * Métricas: {@code <name>{result=leader|coalesced|timeout}}.
+ *
+ * @param <K> El tipo de la clave.
+ * @param <V> El tipo del resultado.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(MeterRegistry registry, String name, Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.leaders = Counter.builder(name).tag("result", "leader").register(registry);
+        this.coalesced = Counter.builder(name).tag("result", "coalesced").register(registry);
+        this.timeouts = Counter.builder(name).tag("result", "timeout").register(registry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> current = inFlight.putIfAbsent(key, mine);
+        if (current != null) {
+            return await(current, loader);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V await(CompletableFuture<V> current, Supplier<V> loader) {
+        try {
+            V value = current.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera interrumpida", e);
+        }
+    }
+}
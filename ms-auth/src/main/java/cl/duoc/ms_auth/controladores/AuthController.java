@@ -0,0 +1,97 @@
+package cl.duoc.ms_auth.controladores;
+
+import cl.duoc.ms_auth.dtos.AuthLoginRequest;
+import cl.duoc.ms_auth.dtos.AuthLoginResponse;
+import cl.duoc.ms_auth.dtos.RefreshTokenRequest;
+import cl.duoc.ms_auth.dtos.TokenIntrospectionRequest;
+import cl.duoc.ms_auth.dtos.TokenIntrospectionResponse;
+import cl.duoc.ms_auth.security.JwtUtils;
+import cl.duoc.ms_auth.servicios.AuthService;
+import cl.duoc.ms_auth.servicios.TokenIntrospectionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para gestionar la autenticación de usuarios.
+ * Proporciona endpoints para el inicio de sesión, la renovación, el cierre de sesión y la introspección de tokens.
+ */
+@RestController
+@RequestMapping("/auth")
+public class AuthController {
+
+    private final AuthService authService;
+    private final TokenIntrospectionService introspectionService;
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
+    /**
+     * Constructor para inyectar el servicio de autenticación.
+     *
+     * @param authService El servicio que maneja la lógica de autenticación.
+     * @param introspectionService El servicio que valida tokens por lote.
+     */
+    public AuthController(AuthService authService, TokenIntrospectionService introspectionService) {
+        this.authService = authService;
+        this.introspectionService = introspectionService;
+    }
+
+    /**
+     * Endpoint para el inicio de sesión de un usuario.
+     * Valida las credenciales y, si son correctas, devuelve un token JWT.
+     *
+     * @param request El objeto {@link AuthLoginRequest} que contiene el nombre de usuario y la contraseña.
+     * @param httpRequest La petición HTTP, de la que se toma la IP de origen para el límite de intentos.
+     * @return Un {@link ResponseEntity} con el {@link AuthLoginResponse} que incluye el token JWT.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<AuthLoginResponse> login(@RequestBody @Valid AuthLoginRequest request, HttpServletRequest httpRequest) {
+        logger.info("Iniciando proceso de login para el usuario: {}", request.username());
+        AuthLoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
+        logger.info("Login exitoso para el usuario: {}", request.username());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint para renovar el token de acceso con un refresh token, sin reenviar la contraseña.
+     * El refresh token recibido queda canjeado y se devuelve uno nuevo.
+     *
+     * @param request El objeto {@link RefreshTokenRequest} con el refresh token.
+     * @param httpRequest La petición HTTP, de la que se toma la IP de origen para el límite de renovaciones.
+     * @return Un {@link ResponseEntity} con el {@link AuthLoginResponse} que incluye el nuevo token JWT.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthLoginResponse> refresh(@RequestBody @Valid RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(authService.refresh(request, httpRequest.getRemoteAddr()));
+    }
+
+    /**
+     * Endpoint para cerrar sesión: revoca el token de acceso presentado en todos los nodos.
+     *
+     * @param authentication La autenticación establecida por el filtro JWT.
+     * @return Un {@link ResponseEntity} sin contenido.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication) {
+        logger.info("Cierre de sesión para el usuario: {}", authentication.getName());
+        authService.logout((JwtUtils.JwtPayload) authentication.getDetails());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint de introspección por lote para servicios que no verifican RS256 por sí mismos.
+     * Valida cada token (firma, emisor y expiración) sin consultar la base de datos.
+     * Requiere un token de una cuenta con el rol SERVICE: no es un oráculo público de validez.
+     *
+     * @param request El objeto {@link TokenIntrospectionRequest} con los tokens a validar.
+     * @return Un {@link ResponseEntity} con un resultado por token, en el mismo orden.
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<TokenIntrospectionResponse> introspect(@RequestBody @Valid TokenIntrospectionRequest request) {
+        logger.info("Solicitud de introspección recibida para {} tokens.", request.tokens().size());
+        return ResponseEntity.ok(introspectionService.introspect(request.tokens()));
+    }
+}
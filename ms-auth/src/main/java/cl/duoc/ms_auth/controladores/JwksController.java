@@ -1,7 +1,6 @@
 package cl.duoc.ms_auth.controladores;
 
 import cl.duoc.ms_auth.security.KeyProvider;
-import com.nimbusds.jose.jwk.JWKSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
@@ -36,8 +35,6 @@ public class JwksController {
     @GetMapping(value = "/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<String> jwks() {
         logger.info("Solicitud recibida para obtener el JWKS.");
-        var jwkSet = new JWKSet(keyProvider.publicJwk());
-        logger.debug("JWKS generado exitosamente.");
-        return ResponseEntity.ok(jwkSet.toString(true));
+        return ResponseEntity.ok(keyProvider.jwksJson());
     }
 }
@@ -0,0 +1,202 @@
+package cl.duoc.ms_auth.controladores;
+
+import cl.duoc.ms_auth.config.PageResponse;
+import cl.duoc.ms_auth.dtos.UserChangesResponse;
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserLookupRequest;
+import cl.duoc.ms_auth.dtos.UserLookupResponse;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.dtos.UserUpdateRequest;
+import cl.duoc.ms_auth.eventos.EventStreamHub;
+import cl.duoc.ms_auth.servicios.UserChangeService;
+import cl.duoc.ms_auth.servicios.UserService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Controlador REST para gestionar las operaciones CRUD de los usuarios.
+ */
+@RestController
+@RequestMapping("/users")
+public class UsersController {
+
+    private final UserService userService;
+    private final UserChangeService changeService;
+    private final EventStreamHub eventHub;
+    private static final Logger logger = LoggerFactory.getLogger(UsersController.class);
+
+    /**
+     * Constructor para inyectar el servicio de usuarios.
+     *
+     * @param userService El servicio que maneja la lógica de negocio de los usuarios.
+     * @param changeService El servicio del feed de cambios de usuarios.
+     * @param eventHub El bus de eventos que alimenta el stream SSE.
+     */
+    public UsersController(UserService userService, UserChangeService changeService, EventStreamHub eventHub){
+        this.userService = userService;
+        this.changeService = changeService;
+        this.eventHub = eventHub;
+    }
+
+    /**
+     * Endpoint para crear un nuevo usuario.
+     *
+     * @param request El objeto {@link UserCreateRequest} con los datos del nuevo usuario.
+     * @return Un {@link ResponseEntity} con el {@link UserResponse} del usuario creado.
+     */
+    @PostMapping
+    public ResponseEntity<UserResponse> create(@RequestBody @Valid UserCreateRequest request) {
+        logger.info("Solicitud recibida para crear un nuevo usuario.");
+        UserResponse response = userService.create(request);
+        logger.info("Usuario creado exitosamente con ID: {}", response.id());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint para actualizar un usuario existente.
+     *
+     * @param id El ID del usuario a actualizar.
+     * @param request El objeto {@link UserUpdateRequest} con los nuevos datos del usuario.
+     * @return Un {@link ResponseEntity} con el {@link UserResponse} del usuario actualizado.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<UserResponse> update(@PathVariable Long id, @RequestBody @Valid UserUpdateRequest request) {
+        logger.info("Solicitud recibida para actualizar el usuario con ID: {}", id);
+        UserResponse response = userService.update(id, request);
+        logger.info("Usuario con ID: {} actualizado exitosamente.", id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint para eliminar un usuario.
+     *
+     * @param id El ID del usuario a eliminar.
+     * @return Un {@link ResponseEntity} con el estado no-content.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        logger.info("Solicitud recibida para eliminar el usuario con ID: {}", id);
+        userService.delete(id);
+        logger.info("Usuario con ID: {} eliminado exitosamente.", id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para obtener un usuario por su ID.
+     *
+     * @param id El ID del usuario a obtener.
+     * @return Un {@link ResponseEntity} con el {@link UserResponse} del usuario encontrado.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<UserResponse> getById(@PathVariable Long id) {
+        logger.info("Solicitud recibida para obtener el usuario con ID: {}", id);
+        UserResponse response = userService.getById(id);
+        logger.debug("Usuario con ID: {} encontrado.", id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint para listar todos los usuarios.
+     *
+     * @return Un {@link ResponseEntity} que contiene una lista de {@link UserResponse}.
+     */
+    @GetMapping
+    public ResponseEntity<List<UserResponse>> list() {
+        logger.info("Solicitud recibida para listar todos los usuarios.");
+        List<UserResponse> users = userService.list();
+        logger.debug("Se encontraron {} usuarios.", users.size());
+        return ResponseEntity.ok(users);
+    }
+
+    /**
+     * Endpoint de búsqueda filtrada y paginada. Todos los filtros son opcionales y se combinan con AND.
+     *
+     * @param labCode El código de laboratorio exacto.
+     * @param role El nombre del rol.
+     * @param active El estado del usuario.
+     * @param usernamePrefix El prefijo del nombre de usuario.
+     * @param page El número de página (desde 0).
+     * @param size El tamaño de página (hasta 200).
+     * @return Un {@link ResponseEntity} con la {@link PageResponse} de usuarios, ordenada por username.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<UserResponse>> search(@RequestParam(required = false) String labCode,
+                                                             @RequestParam(required = false) String role,
+                                                             @RequestParam(required = false) Boolean active,
+                                                             @RequestParam(required = false) String usernamePrefix,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        logger.info("Solicitud recibida para búsqueda filtrada de usuarios.");
+        return ResponseEntity.ok(userService.search(labCode, role, active, usernamePrefix, page, size));
+    }
+
+    /**
+     * Endpoint de búsqueda por lote por IDs, usernames o IDs externos, para resolver muchas referencias
+     * en una sola llamada.
+     *
+     * @param request El objeto {@link UserLookupRequest} con las referencias a resolver.
+     * @return Un {@link ResponseEntity} con los usuarios en el mismo orden de la solicitud ({@code null} si no existen).
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<UserLookupResponse> lookup(@RequestBody @Valid UserLookupRequest request) {
+        logger.info("Solicitud recibida para búsqueda de usuarios por lote.");
+        return ResponseEntity.ok(userService.lookup(request));
+    }
+
+    /**
+     * Endpoint del feed incremental de cambios, para servicios que mantienen una copia local de los usuarios.
+     * Devuelve solo los usuarios modificados y eliminados desde el cursor, junto con el cursor siguiente.
+     * Con {@code waitSeconds > 0} y sin cambios pendientes, la respuesta espera (long-polling) hasta que
+     * ocurra un cambio o venza la espera.
+     *
+     * @param since El cursor de la respuesta anterior; se omite en la primera sincronización.
+     * @param limit El máximo de usuarios y de eliminaciones por respuesta (hasta 500).
+     * @param waitSeconds El tiempo máximo de espera si no hay cambios (hasta 30).
+     * @return Un {@link DeferredResult} con el {@link UserChangesResponse}.
+     */
+    @GetMapping("/changes")
+    public DeferredResult<UserChangesResponse> changes(@RequestParam(required = false) String since,
+                                                       @RequestParam(defaultValue = "100") int limit,
+                                                       @RequestParam(defaultValue = "0") long waitSeconds) {
+        logger.debug("Solicitud recibida para el feed de cambios de usuarios.");
+        return changeService.poll(since, limit, waitSeconds);
+    }
+
+    /**
+     * Endpoint SSE con notificaciones de usuarios creados, modificados y eliminados ({@code user.created},
+     * {@code user.updated}, {@code user.deleted}) y de revocaciones ({@code token.revoked}, {@code user.revoked}).
+     * Un evento {@code dropped} indica que el cliente se atrasó y perdió eventos: debe resincronizarse con
+     * {@code GET /users/changes}, igual que al reconectarse.
+     *
+     * @param principal El objeto {@link Principal} que representa al suscriptor.
+     * @return el {@link SseEmitter} de la conexión.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(Principal principal) {
+        logger.info("Nueva suscripción a eventos de usuarios: {}", principal.getName());
+        return eventHub.subscribe(principal.getName());
+    }
+
+    /**
+     * Endpoint para obtener la información del usuario autenticado actualmente.
+     *
+     * @param principal El objeto {@link Principal} que representa al usuario autenticado.
+     * @return Un {@link ResponseEntity} con el {@link UserResponse} del usuario actual.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<UserResponse> me(Principal principal) {
+        logger.info("Solicitud recibida para obtener la información del usuario autenticado: {}", principal.getName());
+        UserResponse response = userService.me(principal.getName());
+        logger.debug("Información del usuario autenticado obtenida exitosamente.");
+        return ResponseEntity.ok(response);
+    }
+}
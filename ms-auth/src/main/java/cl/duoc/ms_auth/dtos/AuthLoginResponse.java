@@ -13,6 +13,7 @@ import java.util.List;
  * @param username El nombre de usuario.
  * @param roles La lista de roles asignados al usuario.
  * @param labCode El código del laboratorio asociado al usuario (puede ser nulo, por ejemplo, para administradores).
+ * @param refreshToken El refresh token opaco para renovar el token de acceso sin credenciales (un solo uso).
  */
 public record AuthLoginResponse(
         String token,
@@ -20,5 +21,6 @@ public record AuthLoginResponse(
         String userId,         // externalId como string
         String username,
         List<String> roles,
-        String labCode         // null si es ADMIN
+        String labCode,        // null si es ADMIN
+        String refreshToken
 ) {}
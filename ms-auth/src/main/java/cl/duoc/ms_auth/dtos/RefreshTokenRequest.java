@@ -0,0 +1,13 @@
+package cl.duoc.ms_auth.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Un record que representa la solicitud de renovación del token de acceso.
+ *
+ * @param refreshToken El refresh token opaco entregado en el login o en la renovación anterior.
+ */
+public record RefreshTokenRequest(
+        @NotBlank @Size(max = 100) String refreshToken
+) {}
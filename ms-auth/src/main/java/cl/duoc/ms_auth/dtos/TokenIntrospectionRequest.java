@@ -0,0 +1,16 @@
+package cl.duoc.ms_auth.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Un record que representa una solicitud de introspección de tokens por lote.
+ *
+ * @param tokens La lista de tokens JWT a validar. Se responde en el mismo orden.
+ */
+public record TokenIntrospectionRequest(
+        @NotEmpty @Size(max = 1000) List<@NotBlank String> tokens
+) {}
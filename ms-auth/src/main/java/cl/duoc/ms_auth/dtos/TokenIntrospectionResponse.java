@@ -0,0 +1,12 @@
+package cl.duoc.ms_auth.dtos;
+
+import java.util.List;
+
+/**
+ * Un record que representa la respuesta de una introspección de tokens por lote.
+ *
+ * @param results Los resultados por token, en el mismo orden de la solicitud.
+ */
+public record TokenIntrospectionResponse(
+        List<TokenIntrospectionResult> results
+) {}
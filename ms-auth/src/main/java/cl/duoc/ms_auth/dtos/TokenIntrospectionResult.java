@@ -0,0 +1,27 @@
+package cl.duoc.ms_auth.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Un record que representa el resultado de la introspección de un token.
+ * Si el token no es válido solo se informa {@code active = false} y el resto de los campos es nulo.
+ *
+ * @param active Verdadero si el token tiene firma, emisor y expiración válidos.
+ * @param username El nombre de usuario (subject) del token.
+ * @param userId El ID externo del usuario.
+ * @param roles Los roles incluidos en el token.
+ * @param labCode El código de laboratorio incluido en el token.
+ * @param expiresAt La fecha y hora de expiración del token.
+ */
+public record TokenIntrospectionResult(
+        boolean active,
+        String username,
+        String userId,
+        List<String> roles,
+        String labCode,
+        Instant expiresAt
+) {
+    public static final TokenIntrospectionResult INACTIVE =
+            new TokenIntrospectionResult(false, null, null, null, null, null);
+}
@@ -0,0 +1,18 @@
+package cl.duoc.ms_auth.dtos;
+
+import java.util.List;
+
+/**
+ * Un record que representa una página del feed de cambios de usuarios.
+ *
+ * @param upserts   Los usuarios creados o modificados desde el cursor, en orden de modificación.
+ * @param deletions Los usuarios eliminados desde el cursor.
+ * @param cursor    El cursor opaco para la siguiente consulta.
+ * @param hasMore   Verdadero si quedan cambios pendientes: se debe consultar de nuevo sin esperar.
+ */
+public record UserChangesResponse(
+        List<UserResponse> upserts,
+        List<UserDeletion> deletions,
+        String cursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,18 @@
+package cl.duoc.ms_auth.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Un record que representa la eliminación de un usuario en el feed de cambios.
+ *
+ * @param id         El ID interno del usuario eliminado.
+ * @param externalId El ID externo del usuario (UUID como cadena).
+ * @param username   El nombre de usuario.
+ * @param deletedAt  La fecha y hora de la eliminación.
+ */
+public record UserDeletion(
+        Long id,
+        String externalId,
+        String username,
+        LocalDateTime deletedAt
+) {}
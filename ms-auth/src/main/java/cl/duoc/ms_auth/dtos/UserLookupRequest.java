@@ -0,0 +1,22 @@
+package cl.duoc.ms_auth.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Un record que representa una búsqueda de usuarios por lote.
+ * Se puede indicar cualquier combinación de las tres listas; cada una se responde en su mismo orden.
+ *
+ * @param ids Los IDs internos a resolver.
+ * @param usernames Los nombres de usuario a resolver.
+ * @param externalIds Los IDs externos (UUID como cadena) a resolver.
+ */
+public record UserLookupRequest(
+        @Size(max = 1000) List<@NotNull Long> ids,
+        @Size(max = 1000) List<@NotBlank String> usernames,
+        @Size(max = 1000) List<@Pattern(regexp = "^[0-9a-fA-F-]{36}$") String> externalIds
+) {}
@@ -0,0 +1,18 @@
+package cl.duoc.ms_auth.dtos;
+
+import java.util.List;
+
+/**
+ * Un record que representa el resultado de una búsqueda de usuarios por lote.
+ * Cada lista tiene el mismo largo y orden que la lista correspondiente de la solicitud;
+ * las referencias que no existen se devuelven como {@code null}.
+ *
+ * @param byId Los usuarios resueltos por ID interno.
+ * @param byUsername Los usuarios resueltos por nombre de usuario.
+ * @param byExternalId Los usuarios resueltos por ID externo.
+ */
+public record UserLookupResponse(
+        List<UserResponse> byId,
+        List<UserResponse> byUsername,
+        List<UserResponse> byExternalId
+) {}
@@ -0,0 +1,95 @@
+package cl.duoc.ms_auth.entidades;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa un refresh token persistido.
+ * Solo se guarda el SHA-256 del token; el valor opaco nunca se almacena.
+ * Los tokens de una misma cadena de rotación comparten {@code familyId}.
+ */
+@Entity
+@Table(name = "REFRESH_TOKENS",
+        uniqueConstraints = @UniqueConstraint(name = "UQ_RT_HASH", columnNames = "TOKEN_HASH"))
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private Long id;
+
+    /**
+     * SHA-256 del token en base64url.
+     */
+    @Column(name = "TOKEN_HASH", length = 64, nullable = false)
+    private String tokenHash;
+
+    @Column(name = "USER_ID", nullable = false)
+    private Long userId;
+
+    /**
+     * Identificador de la cadena de rotación; al detectar reutilización se revoca la familia completa.
+     */
+    @Column(name = "FAMILY_ID", length = 36, nullable = false)
+    private String familyId;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "USED", length = 1, nullable = false)
+    private String used = "N";
+
+    @Column(name = "REVOKED", length = 1, nullable = false)
+    private String revoked = "N";
+
+    @Column(name = "CREATED_AT", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, Long userId, String familyId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    //<editor-fold desc="Getters y Setters">
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getUsed() {
+        return used;
+    }
+
+    public String getRevoked() {
+        return revoked;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    //</editor-fold>
+}
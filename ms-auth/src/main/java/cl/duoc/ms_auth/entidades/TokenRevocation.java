@@ -0,0 +1,79 @@
+package cl.duoc.ms_auth.entidades;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa una revocación de tokens.
+ * Es de un token concreto (JTI informado) o de todos los tokens de un usuario emitidos antes de
+ * NOT_BEFORE (SUBJECT_ID informado). EXPIRES_AT indica cuándo la fila deja de ser necesaria, porque
+ * ya expiraron todos los tokens a los que afecta. CREATED_AT lo asigna la BD: es la marca por la que los
+ * nodos leen de forma incremental y no puede depender del reloj de cada nodo.
+ */
+@Entity
+@Table(name = "TOKEN_REVOCATIONS")
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private Long id;
+
+    @Column(name = "JTI", length = 36)
+    private String jti;
+
+    /**
+     * ID externo del usuario (claim userId/uid).
+     */
+    @Column(name = "SUBJECT_ID", length = 36)
+    private String subjectId;
+
+    @Column(name = "NOT_BEFORE")
+    private LocalDateTime notBefore;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "CREATED_AT", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public TokenRevocation() {
+    }
+
+    public TokenRevocation(String jti, String subjectId, LocalDateTime notBefore, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.subjectId = subjectId;
+        this.notBefore = notBefore;
+        this.expiresAt = expiresAt;
+    }
+
+    //<editor-fold desc="Getters">
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public String getSubjectId() {
+        return subjectId;
+    }
+
+    public LocalDateTime getNotBefore() {
+        return notBefore;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    //</editor-fold>
+}
@@ -3,6 +3,7 @@ package cl.duoc.ms_auth.entidades;
 
 import cl.duoc.ms_auth.converter.UuidRaw16Converter;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -78,9 +79,31 @@ public class User {
     @Column(name = "UPDATED_AT", insertable = false, updatable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * El instante UTC del último login exitoso. Gestionado por {@code LoginActivityTracker}.
+     */
+    // Último login, intentos y bloqueo: solo lectura para JPA, los escribe el tracker en lotes
+    @Column(name = "LAST_LOGIN_AT", insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    /**
+     * Los intentos de login fallidos consecutivos.
+     */
+    @Column(name = "FAILED_ATTEMPTS", insertable = false, updatable = false)
+    private Integer failedAttempts;
+
+    /**
+     * El instante UTC hasta el que la cuenta queda bloqueada, o {@code null}.
+     */
+    @Column(name = "LOCKED_UNTIL", insertable = false, updatable = false)
+    private LocalDateTime lockedUntil;
+
     /**
      * El conjunto de roles asignados al usuario.
      */
+    // Al recorrer una lista de usuarios (búsqueda paginada, feed de cambios) los roles se cargan
+    // en lotes de hasta 200 usuarios por consulta, no una consulta por usuario
+    @BatchSize(size = 200)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "USER_ROLES",
@@ -194,6 +217,18 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public Integer getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
@@ -0,0 +1,69 @@
+package cl.duoc.ms_auth.entidades;
+
+import cl.duoc.ms_auth.converter.UuidRaw16Converter;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que registra la eliminación de un usuario para el feed de cambios.
+ * DELETED_AT lo asigna la BD con el mismo reloj que el trigger de USERS.UPDATED_AT, de modo que
+ * ambas columnas se pueden comparar con el mismo cursor.
+ */
+@Entity
+@Table(name = "USER_TOMBSTONES")
+public class UserTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private Long id;
+
+    @Column(name = "USER_ID", nullable = false)
+    private Long userId;
+
+    @Convert(converter = UuidRaw16Converter.class)
+    @Column(name = "EXTERNAL_ID", columnDefinition = "RAW(16)", nullable = false)
+    private UUID externalId;
+
+    @Column(name = "USERNAME", length = 150, nullable = false)
+    private String username;
+
+    @Column(name = "DELETED_AT", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public UserTombstone() {
+    }
+
+    public UserTombstone(Long userId, UUID externalId, String username) {
+        this.userId = userId;
+        this.externalId = externalId;
+        this.username = username;
+    }
+
+    //<editor-fold desc="Getters">
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UUID getExternalId() {
+        return externalId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    //</editor-fold>
+}
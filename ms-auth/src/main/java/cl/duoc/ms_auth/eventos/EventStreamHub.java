@@ -0,0 +1,210 @@
+package cl.duoc.ms_auth.eventos;
+
+import cl.duoc.ms_auth.exceptions.TooManyRequestsException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bus de eventos en proceso que reparte las notificaciones de usuarios y revocaciones a los suscriptores SSE.
+ * <p>
+ * Publicar nunca bloquea. Cada evento se serializa a JSON una sola vez al publicarlo y se encola ese mismo
+ * texto en el buffer acotado de cada
+ * suscriptor; el envío lo hace un pool pequeño, con a lo sumo una tarea por suscriptor. Si un suscriptor
+ * lento llena su buffer se descartan sus eventos más antiguos, y antes del siguiente envío recibe un
+ * evento {@code dropped} con la cantidad perdida, para que se resincronice con {@code GET /users/changes}.
+ * Los cambios de usuarios son solo los de este nodo; las revocaciones incluyen las de todos los nodos.
+ * Ambos se publican después del commit de la transacción que los originó (o de inmediato fuera de una),
+ * para no anunciar cambios que luego se revierten.
+ */
+@Component
+public class EventStreamHub {
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders;
+    private final ObjectMapper objectMapper;
+    private final Counter dropped;
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamHub.class);
+
+    /**
+     * Un evento ya serializado, compartido por todos los suscriptores.
+     */
+    private record Message(long id, String name, String json) {}
+
+    public EventStreamHub(
+            MeterRegistry registry,
+            ObjectMapper objectMapper,
+            @Value("${auth.events.buffer-size:256}") int bufferSize,
+            @Value("${auth.events.max-subscribers:1000}") int maxSubscribers,
+            @Value("${auth.events.sender-threads:4}") int senderThreads,
+            @Value("${auth.events.timeout-ms:900000}") long timeoutMs) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.objectMapper = objectMapper;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "sse-sender-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.dropped = Counter.builder("auth.events.dropped")
+                .description("Eventos SSE descartados por buffers llenos")
+                .register(registry);
+        registry.gauge("auth.events.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * Registra un suscriptor nuevo.
+     *
+     * @return el emisor SSE de la conexión.
+     * @throws TooManyRequestsException si se alcanzó el máximo de suscriptores.
+     */
+    public SseEmitter subscribe(String username) {
+        return subscribe(username, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(String username, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Demasiados suscriptores de eventos", 30);
+        }
+        Subscriber s = new Subscriber(emitter, username);
+        subscribers.add(s);
+        emitter.onCompletion(() -> subscribers.remove(s));
+        emitter.onTimeout(() -> subscribers.remove(s));
+        emitter.onError(e -> subscribers.remove(s));
+        logger.debug("Suscriptor de eventos registrado: {}", username);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        publish("user." + event.type().name().toLowerCase(Locale.ROOT), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        publish(event.jti() != null ? "token.revoked" : "user.revoked", event);
+    }
+
+    /**
+     * Comentario periódico para mantener viva la conexión y detectar clientes desconectados.
+     */
+    @Scheduled(fixedDelayString = "${auth.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber s : subscribers) s.offer(null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void publish(String name, Object data) {
+        if (subscribers.isEmpty()) return;
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            logger.warn("No se pudo serializar el evento {}: {}", name, e.getMessage());
+            return;
+        }
+        Message message = new Message(sequence.incrementAndGet(), name, json);
+        for (Subscriber s : subscribers) s.offer(message);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String username;
+        private final ArrayDeque<Message> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean heartbeatPending;
+        private long lost;
+
+        Subscriber(SseEmitter emitter, String username) {
+            this.emitter = emitter;
+            this.username = username;
+        }
+
+        /**
+         * Encola un evento ({@code null} = heartbeat) descartando el más antiguo si el buffer está lleno.
+         */
+        void offer(Message message) {
+            synchronized (this) {
+                if (message == null) {
+                    heartbeatPending = true;
+                } else {
+                    if (buffer.size() >= bufferSize) {
+                        buffer.pollFirst();
+                        lost++;
+                        dropped.increment();
+                    }
+                    buffer.addLast(message);
+                }
+            }
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Message next;
+                    long lostNow;
+                    boolean heartbeat;
+                    synchronized (this) {
+                        next = buffer.pollFirst();
+                        lostNow = lost;
+                        lost = 0;
+                        heartbeat = heartbeatPending && next == null;
+                        heartbeatPending = false;
+                    }
+                    if (lostNow > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(lostNow));
+                    }
+                    if (next != null) {
+                        // El JSON ya serializado se escribe tal cual, sin pasar otra vez por Jackson
+                        emitter.send(SseEmitter.event().id(Long.toString(next.id())).name(next.name())
+                                .data(next.json()));
+                    } else {
+                        if (heartbeat) emitter.send(SseEmitter.event().comment("ping"));
+                        draining.set(false);
+                        // Revisión tras liberar el turno: un evento pudo llegar entre el vaciado y el set(false)
+                        synchronized (this) {
+                            if ((buffer.isEmpty() && !heartbeatPending) || !draining.compareAndSet(false, true)) return;
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Suscriptor de eventos desconectado: {}", username);
+                subscribers.remove(this);
+                draining.set(false);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package cl.duoc.ms_auth.eventos;
+
+import java.time.Instant;
+
+/**
+ * Evento de aplicación publicado por {@code RevocationStore} al conocer una revocación nueva,
+ * ya sea hecha en este nodo o leída de TOKEN_REVOCATIONS.
+ *
+ * @param jti       El identificador del token revocado, o nulo si se revocaron todos los tokens del usuario.
+ * @param subjectId El ID externo del usuario cuyos tokens se revocaron (nulo en revocaciones por jti).
+ * @param notBefore Los tokens del usuario emitidos antes de este instante quedan revocados (nulo en revocaciones por jti).
+ */
+public record TokenRevokedEvent(
+        String jti,
+        String subjectId,
+        Instant notBefore
+) {}
@@ -0,0 +1,22 @@
+package cl.duoc.ms_auth.eventos;
+
+/**
+ * Evento de aplicación publicado por {@code UserServiceImpl} cuando un usuario se crea, actualiza o elimina.
+ *
+ * @param type          El tipo de cambio.
+ * @param userId        El ID interno del usuario.
+ * @param externalId    El ID externo del usuario (UUID como cadena).
+ * @param username      El nombre de usuario.
+ * @param rolesChanged  Verdadero si cambiaron los roles.
+ * @param activeChanged Verdadero si cambió el estado de activación.
+ */
+public record UserChangedEvent(
+        Type type,
+        Long userId,
+        String externalId,
+        String username,
+        boolean rolesChanged,
+        boolean activeChanged
+) {
+    public enum Type { CREATED, UPDATED, DELETED }
+}
@@ -5,8 +5,13 @@ import cl.duoc.ms_auth.dtos.UserResponse;
 import cl.duoc.ms_auth.dtos.UserUpdateRequest;
 import cl.duoc.ms_auth.entidades.Role;
 import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.repositorio.UserRow;
 import cl.duoc.ms_auth.servicios.UserMapper;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -76,4 +81,36 @@ public class UserMapperImpl implements UserMapper {
                 e.getUpdatedAt()
         );
     }
+
+    /**
+     * Convierte las filas proyectadas ({@link UserRow}, una por rol) en DTOs {@link UserResponse}.
+     * Las filas de un mismo usuario se agrupan conservando el orden de la consulta.
+     *
+     * @param rows Las filas devueltas por el repositorio.
+     * @return Un {@link UserResponse} por usuario, con los roles ordenados por nombre.
+     */
+    @Override
+    public List<UserResponse> toResponses(List<UserRow> rows) {
+        Map<Long, List<UserRow>> byUser = new LinkedHashMap<>();
+        for (UserRow row : rows) {
+            byUser.computeIfAbsent(row.id(), k -> new ArrayList<>(2)).add(row);
+        }
+        List<UserResponse> out = new ArrayList<>(byUser.size());
+        for (List<UserRow> group : byUser.values()) {
+            UserRow e = group.get(0);
+            List<String> roles = group.stream().map(UserRow::roleName).filter(n -> n != null).sorted().toList();
+            out.add(new UserResponse(
+                    e.id(),
+                    uuidToString(e.externalId()),
+                    e.username(),
+                    e.email(),
+                    roles,
+                    e.labCode(),
+                    ynToBool(e.active()),
+                    e.createdAt(),
+                    e.updatedAt()
+            ));
+        }
+        return out;
+    }
 }
@@ -0,0 +1,31 @@
+package cl.duoc.ms_auth.repositorio;
+
+import cl.duoc.ms_auth.entidades.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // 1 si este nodo ganó la rotación; 0 si ya estaba usado o revocado (reutilización)
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.used = 'Y' where t.tokenHash = :hash and t.used = 'N' and t.revoked = 'N'")
+    int markUsed(@Param("hash") String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = 'Y' where t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,18 @@
 package cl.duoc.ms_auth.repositorio;
 
 import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.dtos.RoleResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name); // 'ADMIN', 'LAB_TECH'
     boolean existsByName(String name);
+
+    // Listado directo a DTO, sin hidratar entidades
+    @Query("select new cl.duoc.ms_auth.dtos.RoleResponse(r.id, r.name, r.description) from Role r order by r.id")
+    List<RoleResponse> findAllResponses();
 }
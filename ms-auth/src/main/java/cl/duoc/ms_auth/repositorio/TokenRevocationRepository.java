@@ -0,0 +1,21 @@
+package cl.duoc.ms_auth.repositorio;
+
+import cl.duoc.ms_auth.entidades.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    // Carga incremental: solo las revocaciones creadas desde la última lectura que siguen vigentes
+    List<TokenRevocation> findByCreatedAtGreaterThanEqualAndExpiresAtGreaterThan(LocalDateTime since, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
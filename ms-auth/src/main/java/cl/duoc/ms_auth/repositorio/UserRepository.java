@@ -0,0 +1,95 @@
+package cl.duoc.ms_auth.repositorio;
+
+import cl.duoc.ms_auth.entidades.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+    Optional<User> findByUsername(String username);
+    Optional<User> findByEmail(String email);
+    boolean existsByUsername(String username);
+    boolean existsByEmail(String email);
+
+    // Timeouts por consulta (ms): las puntuales cortan antes que el timeout global; listados y búsquedas tienen más margen
+    String FAST_QUERY_TIMEOUT_MS = "2000";
+    String REPORT_QUERY_TIMEOUT_MS = "10000";
+    String QUERY_TIMEOUT = "jakarta.persistence.query.timeout";
+
+    // Login y renovación: el usuario y sus roles en una sola consulta
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = FAST_QUERY_TIMEOUT_MS))
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsername(String username);
+
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = FAST_QUERY_TIMEOUT_MS))
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+
+    // Lecturas de solo consulta: proyección directa a UserRow (una fila por rol), sin hidratar entidades
+    String USER_ROW = "select new cl.duoc.ms_auth.repositorio.UserRow(u.id, u.externalId, u.username, u.email, "
+            + "u.labCode, u.active, u.createdAt, u.updatedAt, r.name) from User u left join u.roles r ";
+
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = FAST_QUERY_TIMEOUT_MS))
+    @Query(USER_ROW + "where u.id = :id")
+    List<UserRow> findRowsById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = FAST_QUERY_TIMEOUT_MS))
+    @Query(USER_ROW + "where u.username = :username")
+    List<UserRow> findRowsByUsername(@Param("username") String username);
+
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = REPORT_QUERY_TIMEOUT_MS))
+    @Query(USER_ROW + "order by u.id")
+    List<UserRow> findAllRows();
+
+    // Búsqueda por lote: los roles se traen en la misma consulta. El llamador acota el IN a 500 elementos.
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = REPORT_QUERY_TIMEOUT_MS))
+    @Query("select distinct u from User u left join fetch u.roles where u.id in :ids")
+    List<User> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = REPORT_QUERY_TIMEOUT_MS))
+    @Query("select distinct u from User u left join fetch u.roles where u.username in :usernames")
+    List<User> findAllWithRolesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = REPORT_QUERY_TIMEOUT_MS))
+    @Query("select distinct u from User u left join fetch u.roles where u.externalId in :externalIds")
+    List<User> findAllWithRolesByExternalIdIn(@Param("externalIds") Collection<UUID> externalIds);
+
+    // Búsqueda paginada: se redeclara solo para aplicarle el timeout de informes
+    @Override
+    @QueryHints(@QueryHint(name = QUERY_TIMEOUT, value = REPORT_QUERY_TIMEOUT_MS))
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
+
+    // Feed de cambios: orden estable por (UPDATED_AT, ID). Se excluyen las filas de los últimos 2 s (reloj de la BD,
+    // el mismo del trigger) para no saltar transacciones con UPDATED_AT anterior que aún no confirmaban.
+    // Límite: UPDATED_AT se fija al escribir la fila, no al confirmar. Una transacción que tarde más de 2 s entre
+    // su UPDATE y el COMMIT (bloqueos, lotes largos) puede quedar detrás de un cursor ya entregado y ese cambio
+    // no se emite; solo se recupera con una resincronización completa. ORA_ROWSCN o una tabla de cambios
+    // escrita en el commit lo evitarían.
+    @Query(value = """
+            SELECT * FROM USERS u
+            WHERE (u.UPDATED_AT > :ts OR (u.UPDATED_AT = :ts AND u.ID > :id))
+              AND u.UPDATED_AT < CAST(SYSTIMESTAMP AS TIMESTAMP) - INTERVAL '2' SECOND
+            ORDER BY u.UPDATED_AT, u.ID
+            FETCH FIRST :limit ROWS ONLY""", nativeQuery = true)
+    List<User> findChangedSince(@Param("ts") LocalDateTime ts, @Param("id") long id, @Param("limit") int limit);
+
+    // Los cambios de roles solo tocan USER_ROLES: se actualiza la fila para que el trigger avance UPDATED_AT
+    @Modifying
+    @Query(value = "UPDATE USERS SET UPDATED_AT = SYSTIMESTAMP WHERE ID = :id", nativeQuery = true)
+    int touch(@Param("id") Long id);
+}
+
@@ -0,0 +1,32 @@
+package cl.duoc.ms_auth.repositorio;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección plana de un usuario con uno de sus roles, para las lecturas que solo arman un
+ * {@code UserResponse}. Se obtiene con un constructor JPQL: no se hidratan entidades ni se guardan
+ * snapshots para dirty checking. Un usuario con N roles produce N filas (una sola, con {@code roleName}
+ * nulo, si no tiene roles).
+ *
+ * @param id        El ID interno del usuario.
+ * @param externalId El ID externo del usuario.
+ * @param username  El nombre de usuario.
+ * @param email     El correo del usuario.
+ * @param labCode   El código de laboratorio.
+ * @param active    'Y' / 'N'.
+ * @param createdAt La fecha de creación.
+ * @param updatedAt La fecha de última actualización.
+ * @param roleName  El nombre de uno de sus roles.
+ */
+public record UserRow(
+        Long id,
+        UUID externalId,
+        String username,
+        String email,
+        String labCode,
+        String active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String roleName
+) {}
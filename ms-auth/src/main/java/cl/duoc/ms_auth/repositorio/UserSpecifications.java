@@ -0,0 +1,45 @@
+package cl.duoc.ms_auth.repositorio;
+
+import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.entidades.User;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros de búsqueda de usuarios. Cada filtro se agrega solo si viene informado, así cada combinación
+ * genera su propia sentencia y Oracle puede elegir el índice adecuado (en lugar de un único plan con
+ * {@code :param IS NULL OR ...}).
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> labCode(String labCode) {
+        return (root, query, cb) -> cb.equal(root.get("labCode"), labCode);
+    }
+
+    public static Specification<User> active(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("active"), active ? "Y" : "N");
+    }
+
+    public static Specification<User> usernameStartsWith(String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("username"), escaped + "%", '\\');
+    }
+
+    /**
+     * EXISTS sobre USER_ROLES por ROLE_ID: no duplica filas, así que la paginación y el conteo son exactos.
+     */
+    public static Specification<User> hasRole(Long roleId) {
+        return (root, query, cb) -> {
+            Subquery<Long> sq = query.subquery(Long.class);
+            Root<User> u = sq.correlate(root);
+            Join<User, Role> r = u.join("roles");
+            sq.select(r.get("id")).where(cb.equal(r.get("id"), roleId));
+            return cb.exists(sq);
+        };
+    }
+}
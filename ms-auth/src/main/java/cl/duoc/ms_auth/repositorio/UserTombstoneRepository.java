@@ -0,0 +1,20 @@
+package cl.duoc.ms_auth.repositorio;
+
+import cl.duoc.ms_auth.entidades.UserTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserTombstoneRepository extends JpaRepository<UserTombstone, Long> {
+    // Misma ventana de asentamiento que UserRepository.findChangedSince
+    @Query(value = """
+            SELECT * FROM USER_TOMBSTONES t
+            WHERE (t.DELETED_AT > :ts OR (t.DELETED_AT = :ts AND t.ID > :id))
+              AND t.DELETED_AT < CAST(SYSTIMESTAMP AS TIMESTAMP) - INTERVAL '2' SECOND
+            ORDER BY t.DELETED_AT, t.ID
+            FETCH FIRST :limit ROWS ONLY""", nativeQuery = true)
+    List<UserTombstone> findDeletedSince(@Param("ts") LocalDateTime ts, @Param("id") long id, @Param("limit") int limit);
+}
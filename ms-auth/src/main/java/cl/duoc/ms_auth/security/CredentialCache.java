@@ -0,0 +1,98 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.entidades.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Caché opcional de credenciales verificadas recientemente, para no repetir bcrypt en logins idénticos
+ * (cuentas de servicio, kioscos).
+ * <p>
+ * Por cada usuario se guarda solo un HMAC-SHA256 de {@code username + password + passwordHash + active + roles}
+ * con una clave aleatoria generada al arrancar, que nunca sale del proceso. Incluir el hash, el estado y los
+ * roles hace que un cambio de contraseña, una desactivación o un cambio de roles invalide la entrada aunque no
+ * se llame a {@link #invalidate(String)} (por ejemplo, si el cambio se hizo en otro nodo). Desactivada por defecto
+ * ({@code auth.login.credential-cache.enabled}).
+ */
+@Component
+public class CredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Cache<String, byte[]> verified;
+
+    public CredentialCache(
+            @Value("${auth.login.credential-cache.enabled:false}") boolean enabled,
+            @Value("${auth.login.credential-cache.max-size:10000}") long maxSize,
+            @Value("${auth.login.credential-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Indica si estas credenciales ya se verificaron con bcrypt dentro del TTL.
+     */
+    public boolean matches(User user, String password) {
+        if (!enabled) return false;
+        byte[] cached = verified.getIfPresent(user.getUsername());
+        return cached != null && MessageDigest.isEqual(cached, mac(user, password));
+    }
+
+    /**
+     * Registra credenciales recién verificadas con bcrypt.
+     */
+    public void remember(User user, String password) {
+        if (!enabled) return;
+        verified.put(user.getUsername(), mac(user, password));
+    }
+
+    public void invalidate(String username) {
+        verified.invalidate(username);
+    }
+
+    private byte[] mac(User user, String password) {
+        String roles = user.getRoles().stream().map(Role::getName).sorted().collect(Collectors.joining(","));
+        Mac mac = macs.get();
+        mac.update(user.getUsername().getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(user.getPasswordHash().getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(String.valueOf(user.getActive()).getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(roles.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+}
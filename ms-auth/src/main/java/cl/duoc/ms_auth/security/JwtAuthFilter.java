@@ -0,0 +1,141 @@
+package cl.duoc.ms_auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro que autentica las peticiones con el token Bearer.
+ * <p>
+ * Para no generar basura por petición:
+ * <ul>
+ *     <li>No se ejecuta en las rutas públicas de {@link WebSecurityConfig#PUBLIC_ROUTES}.</li>
+ *     <li>Las autoridades se internan por combinación de roles: todos los tokens con los mismos roles
+ *     comparten el mismo {@code Set} inmutable.</li>
+ *     <li>El payload validado de cada token (inmutable) se cachea hasta su expiración, evitando repetir
+ *     la verificación RSA en las peticiones siguientes con el mismo token. El objeto {@code Authentication}
+ *     es mutable, así que se crea uno por petición y nunca se comparte entre contextos de seguridad.</li>
+ * </ul>
+ * Después de validar la firma (o de encontrar el token en caché) se consulta {@link RevocationStore}:
+ * un token revocado no autentica la petición.
+ * Si el token está cerca de expirar, {@link SlidingRenewal} puede adjuntar uno nuevo en la respuesta.
+ */
+public class JwtAuthFilter extends OncePerRequestFilter {
+
+    private static final int MAX_ROLE_COMBINATIONS = 256;
+
+    private final JwtUtils jwtUtils;
+    private final RequestMatcher publicRoutes;
+    private final SlidingRenewal renewal;
+    private final RevocationStore revocations;
+    private final Cache<String, JwtUtils.JwtPayload> payloads;
+    private final Map<List<String>, Set<GrantedAuthority>> authoritySets = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
+
+    public JwtAuthFilter(JwtUtils jwtUtils, RequestMatcher publicRoutes, SlidingRenewal renewal,
+                         RevocationStore revocations, long cacheMaxSize, Duration cacheTtl) {
+        this.jwtUtils = jwtUtils;
+        this.publicRoutes = publicRoutes;
+        this.renewal = renewal;
+        this.revocations = revocations;
+        this.payloads = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicRoutes.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        String auth = req.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (auth != null && auth.startsWith("Bearer ")) {
+            String token = auth.substring(7);
+
+            JwtUtils.JwtPayload payload = payloads.getIfPresent(token);
+            if (payload != null && !isExpired(payload)) {
+                logger.debug("Token en caché para el usuario: {}", payload.username());
+            } else {
+                payload = jwtUtils.validateAndParse(token).orElse(null);
+                if (payload != null) {
+                    payloads.put(token, payload);
+                } else {
+                    payloads.invalidate(token);
+                }
+            }
+
+            if (payload != null && revocations.isRevoked(payload)) {
+                logger.debug("Token revocado para el usuario: {}", payload.username());
+                payloads.invalidate(token);
+                payload = null;
+            }
+
+            if (payload != null) {
+                var authentication = toAuthentication(payload);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                logger.debug("Contexto de seguridad establecido para el usuario: {}", authentication.getName());
+
+                // La cabecera debe escribirse antes de que el controlador confirme la respuesta
+                String renewed = renewal.renewIfDue(token, payload);
+                if (renewed != null) {
+                    res.setHeader(SlidingRenewal.HEADER, renewed);
+                    logger.debug("Token renovado para el usuario: {}", authentication.getName());
+                }
+            }
+        } else {
+            logger.debug("No se encontró un token JWT válido en la cabecera de autorización.");
+        }
+
+        chain.doFilter(req, res);
+    }
+
+    private UsernamePasswordAuthenticationToken toAuthentication(JwtUtils.JwtPayload payload) {
+        var authentication = new UsernamePasswordAuthenticationToken(
+                payload.username(), null, authoritiesFor(payload.roles())
+        );
+        authentication.setDetails(payload);
+        return authentication;
+    }
+
+    private Set<GrantedAuthority> authoritiesFor(List<String> roles) {
+        Set<GrantedAuthority> cached = authoritySets.get(roles);
+        if (cached != null) return cached;
+        Set<GrantedAuthority> authorities = roles.stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                .collect(Collectors.toUnmodifiableSet());
+        if (authoritySets.size() < MAX_ROLE_COMBINATIONS) {
+            Set<GrantedAuthority> previous = authoritySets.putIfAbsent(List.copyOf(roles), authorities);
+            if (previous != null) return previous;
+        }
+        return authorities;
+    }
+
+    private static boolean isExpired(JwtUtils.JwtPayload payload) {
+        return !Instant.now().isBefore(payload.expiresAt());
+    }
+}
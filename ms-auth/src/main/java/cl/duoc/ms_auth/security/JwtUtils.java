@@ -1,5 +1,6 @@
 package cl.duoc.ms_auth.security;
 
+import cl.duoc.ms_auth.client.CompactClaims;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
@@ -13,13 +14,25 @@ import java.time.Instant;
 import java.util.*;
 
 public class JwtUtils {
-    private final RSAPublicKey publicKey;
+    /**
+     * Instante del login original, que se conserva al renovar el token.
+     */
+    public static final String AUTH_TIME = "auth_time";
+    /**
+     * Sesión a la que pertenece el token: la familia de refresh tokens emitida en el login.
+     */
+    public static final String SESSION_ID = "sid";
+
+    private final JWSVerifier verifier;
     private final String expectedIssuer;
+    private final CompactClaims compactClaims;
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    public JwtUtils(RSAPublicKey publicKey, String expectedIssuer) {
-        this.publicKey = publicKey;
+    public JwtUtils(RSAPublicKey publicKey, String expectedIssuer, CompactClaims compactClaims) {
+        // RSASSAVerifier es inmutable y seguro para uso concurrente: se crea una sola vez
+        this.verifier = new RSASSAVerifier(publicKey);
         this.expectedIssuer = expectedIssuer;
+        this.compactClaims = compactClaims;
     }
 
     public Optional<JwtPayload> validateAndParse(String token) {
@@ -29,13 +42,14 @@ public class JwtUtils {
             logger.debug("Token parseado correctamente.");
 
             var header = jwt.getHeader();
-            if (!Objects.equals(header.getType(), JOSEObjectType.JWT)) {
+            // "typ" obligatorio: JWT para el formato estándar, at+jwt para el perfil compacto
+            boolean compact = Objects.equals(header.getType(), CompactClaims.TYPE);
+            if (!compact && !Objects.equals(header.getType(), JOSEObjectType.JWT)) {
                 logger.debug("Validación fallida: El tipo de cabecera no es JWT.");
                 return Optional.empty();
             }
             logger.debug("Tipo de cabecera verificado.");
 
-            JWSVerifier verifier = new RSASSAVerifier(publicKey);
             if (!jwt.verify(verifier)) {
                 logger.debug("Validación fallida: La firma del token es inválida.");
                 return Optional.empty();
@@ -58,16 +72,30 @@ public class JwtUtils {
             logger.debug("Fecha de expiración verificada.");
 
             String subject = claims.getSubject();
-            String userId  = Objects.toString(claims.getClaim("userId"), null);
-            String labCode = Objects.toString(claims.getClaim("labCode"), null);
+            String userId;
+            String labCode;
+            List<String> roles;
+            if (compact) {
+                userId  = CompactClaims.decodeUserId(claims.getStringClaim(CompactClaims.USER_ID));
+                labCode = claims.getStringClaim(CompactClaims.LAB_CODE);
+                Long mask = claims.getLongClaim(CompactClaims.ROLES);
+                roles = mask == null ? List.of() : compactClaims.decodeRoles(mask);
+            } else {
+                userId  = Objects.toString(claims.getClaim("userId"), null);
+                labCode = Objects.toString(claims.getClaim("labCode"), null);
+                @SuppressWarnings("unchecked")
+                List<String> names = (List<String>) claims.getClaim("roles");
+                roles = names == null ? List.of() : List.copyOf(names);
+            }
 
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) claims.getClaim("roles");
-            if (roles == null) roles = List.of();
-            
+            Instant issuedAt = claims.getIssueTime() != null ? claims.getIssueTime().toInstant() : null;
+            // "auth_time" solo viene en tokens renovados; en los emitidos por login coincide con "iat"
+            Date authTime = claims.getDateClaim(AUTH_TIME);
             logger.debug("Payload extraído exitosamente para el usuario: {}", subject);
 
-            return Optional.of(new JwtPayload(subject, userId, roles, labCode));
+            return Optional.of(new JwtPayload(subject, userId, roles, labCode, claims.getExpirationTime().toInstant(),
+                    issuedAt, authTime != null ? authTime.toInstant() : issuedAt, claims.getJWTID(),
+                    claims.getStringClaim(SESSION_ID)));
         } catch (Exception e) {
             logger.debug("Error durante la validación del token: {}", e.getMessage());
             return Optional.empty();
@@ -78,5 +106,6 @@ public class JwtUtils {
         try { return rsaKey.toRSAPublicKey(); } catch (Exception e) { throw new RuntimeException(e); }
     }
 
-    public record JwtPayload(String username, String userId, List<String> roles, String labCode) {}
+    public record JwtPayload(String username, String userId, List<String> roles, String labCode, Instant expiresAt,
+                             Instant issuedAt, Instant authTime, String jti, String sessionId) {}
 }
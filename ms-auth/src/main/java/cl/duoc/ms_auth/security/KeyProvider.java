@@ -0,0 +1,114 @@
+package cl.duoc.ms_auth.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * Fuente única del material criptográfico RSA del servicio.
+ * Las claves PEM se normalizan, validan y parsean una sola vez al arrancar; el resto de los
+ * componentes (firma de tokens, verificación y JWKS) reutiliza las instancias ya construidas.
+ */
+@Component
+public class KeyProvider {
+    private final RSAKey rsaKey;
+    private final RSAKey publicJwk;
+    private final RSAPublicKey publicKey;
+    private final RSAPrivateKey privateKey;
+    private final String jwksJson;
+    private static final Logger logger = LoggerFactory.getLogger(KeyProvider.class);
+
+    /**
+     * Carga y valida las claves RSA pública y privada desde las propiedades de la aplicación.
+     *
+     * @param publicPemRaw  La clave pública en formato PEM.
+     * @param privatePemRaw La clave privada en formato PEM (PKCS#8).
+     * @throws IllegalStateException si hay un error al cargar o validar las claves.
+     */
+    public KeyProvider(
+            @Value("${auth.jwt.rsa.public:}") String publicPemRaw,
+            @Value("${auth.jwt.rsa.private:}") String privatePemRaw) {
+        logger.debug("Cargando claves RSA desde las propiedades.");
+        try {
+            String publicPem  = normalizePem(publicPemRaw);
+            String privatePem = normalizePem(privatePemRaw);
+
+            require(!publicPem.isBlank(),  "auth.jwt.rsa.public vacío o no definido");
+            require(!privatePem.isBlank(), "auth.jwt.rsa.private vacío o no definido");
+            require(publicPem.contains("BEGIN PUBLIC KEY"),   "El PUBLIC PEM no tiene cabecera BEGIN PUBLIC KEY");
+            require(privatePem.contains("BEGIN PRIVATE KEY"), "La PRIVATE PEM debe ser PKCS#8 (BEGIN PRIVATE KEY)");
+
+            RSAKey pem = RSAKey.parseFromPEMEncodedObjects(publicPem + "\n" + privatePem).toRSAKey();
+            // kid = thumbprint RFC 7638: estable para la misma clave y permite a los clientes cachear por kid
+            RSAKey parsed = new RSAKey.Builder(pem).keyIDFromThumbprint().build();
+
+            this.publicKey = parsed.toRSAPublicKey();
+            this.privateKey = parsed.toRSAPrivateKey();
+            require(publicKey != null,  "No se pudo obtener la clave pública desde el PEM");
+            require(privateKey != null, "No se pudo obtener la clave privada (¿está en PKCS#8?)");
+
+            this.rsaKey = parsed;
+            this.publicJwk = parsed.toPublicJWK();
+            this.jwksJson = new JWKSet(publicJwk).toString(true);
+            logger.debug("Claves RSA cargadas y parseadas exitosamente.");
+        } catch (Exception e) {
+            logger.error("Error al parsear las claves RSA: {}. Revisa auth.jwt.rsa.public / auth.jwt.rsa.private en application.properties (.env). La privada debe ser PKCS#8.", rootMsg(e), e);
+            throw new IllegalStateException(
+                    "Error cargando las claves RSA: " + rootMsg(e) +
+                            ". Revisa auth.jwt.rsa.public / auth.jwt.rsa.private en application.properties (.env). " +
+                            "La privada debe ser PKCS#8.", e);
+        }
+    }
+
+    private static String normalizePem(String raw) {
+        if (raw == null) return "";
+        String clean = raw.replace("\"", "").replace(",", "");
+        String newlineNormalized = clean.replace("\\n", "\n");
+        return newlineNormalized.trim();
+    }
+
+    private static void require(boolean cond, String msg) {
+        if (!cond) throw new IllegalArgumentException(msg);
+    }
+
+    private static String rootMsg(Throwable t) {
+        Throwable x = t;
+        while (x.getCause() != null) x = x.getCause();
+        return x.getMessage();
+    }
+
+    public RSAKey rsaKey() {
+        return rsaKey;
+    }
+
+    public String keyId() {
+        return rsaKey.getKeyID();
+    }
+
+    public RSAKey publicJwk() {
+        return publicJwk;
+    }
+
+    public RSAPublicKey publicKey() {
+        return publicKey;
+    }
+
+    public RSAPrivateKey privateKey() {
+        return privateKey;
+    }
+
+    /**
+     * JWKS público ya serializado; la clave no cambia durante la vida del proceso.
+     *
+     * @return el JSON del JWKSet con la clave pública.
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+}
@@ -0,0 +1,257 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.entidades.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Último login, intentos fallidos y bloqueo temporal por usuario, acumulados en memoria.
+ * <p>
+ * El login decide el bloqueo con el estado en memoria y solo marca la entrada como
+ * pendiente; cada {@code auth.login.lockout.flush-interval-ms} las entradas pendientes se escriben en USERS
+ * en una transacción con dos batch JDBC, así que una cuenta compartida genera como máximo una escritura por
+ * ventana. Se escriben incrementos, no valores absolutos: los fallos se suman a FAILED_ATTEMPTS y el bloqueo
+ * solo se extiende ({@code GREATEST}), así que un nodo con una vista atrasada no borra el bloqueo ni los
+ * fallos de otro. Si la suma de los fallos de todos los nodos llega a {@code max-attempts}, el flush bloquea
+ * la cuenta aunque ningún nodo haya llegado por sí solo. Un login exitoso o {@link #reset} solo quitan los
+ * bloqueos anteriores a ellos.
+ * <p>
+ * Mientras una entrada no tiene cambios pendientes manda el estado de la BD, que llega con el usuario
+ * cargado en el login (así se ven los bloqueos de otros nodos tras su flush); las entradas sin cambios se
+ * descartan en el flush siguiente. Tras {@code max-attempts} fallos consecutivos la cuenta queda bloqueada
+ * {@code lock-minutes}. Métricas: {@code auth.login.lockouts} y {@code auth.login.activity.pending}.
+ */
+@Component
+public class LoginActivityTracker {
+
+    // Un reinicio pendiente (parámetro 2 = 1) pone a cero los fallos y quita los bloqueos que vencían antes
+    // del parámetro 5 (reinicio + lock-minutes), es decir, los creados antes del reinicio
+    private static final String UPDATE = "UPDATE USERS SET LAST_LOGIN_AT = COALESCE(?, LAST_LOGIN_AT), "
+            + "FAILED_ATTEMPTS = CASE WHEN ? = 1 THEN 0 ELSE FAILED_ATTEMPTS END + ?, "
+            + "LOCKED_UNTIL = CASE WHEN ? = 1 AND LOCKED_UNTIL <= ? THEN NULL ELSE LOCKED_UNTIL END WHERE ID = ?";
+
+    // Bloqueo decidido en este nodo (parámetro 5 = 1) o por la suma de fallos de todos los nodos
+    private static final String LOCK = "UPDATE USERS SET LOCKED_UNTIL = GREATEST(NVL(LOCKED_UNTIL, ?), ?), "
+            + "FAILED_ATTEMPTS = 0 WHERE ID = ? AND (FAILED_ATTEMPTS >= ? OR ? = 1)";
+
+    private static final class Activity {
+        Instant lastLogin;      // null = sin login nuevo desde el último flush
+        int failures;           // vista local: fallos de la BD más los de este nodo
+        Instant lockedUntil;    // vista local del bloqueo
+        int newFailures;        // fallos aún no escritos
+        Instant resetAt;        // login exitoso o reinicio aún no escrito
+        boolean lockPending;    // bloqueo decidido en este nodo, aún no escrito
+        boolean dirty;
+        boolean retired;        // ya fuera del mapa: quien la tenga debe volver a buscar
+    }
+
+    private record Pending(Long userId, Instant lastLogin, Instant resetAt, int newFailures, Instant lockedUntil) {}
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Duration lockDuration;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Map<Long, Activity> entries = new ConcurrentHashMap<>();
+    private final Counter lockouts;
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityTracker.class);
+
+    public LoginActivityTracker(
+            JdbcTemplate jdbc,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${auth.login.lockout.enabled:true}") boolean enabled,
+            @Value("${auth.login.lockout.max-attempts:5}") int maxAttempts,
+            @Value("${auth.login.lockout.lock-minutes:15}") long lockMinutes) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lockDuration = Duration.ofMinutes(lockMinutes);
+        this.lockouts = Counter.builder("auth.login.lockouts").register(registry);
+        Gauge.builder("auth.login.activity.pending", entries, e -> e.values().stream().filter(a -> a.dirty).count())
+                .register(registry);
+    }
+
+    /**
+     * Segundos que le quedan al bloqueo de la cuenta, o 0 si no está bloqueada.
+     *
+     * @param user El usuario recién cargado de la BD.
+     */
+    public long lockedSeconds(User user) {
+        if (!enabled) return 0;
+        Instant dbLockedUntil = user.getLockedUntil() != null ? user.getLockedUntil().toInstant(ZoneOffset.UTC) : null;
+        Instant lockedUntil = update(user.getId(), a -> {
+            if (!a.dirty) {
+                // Sin cambios locales pendientes: el estado de la BD es el vigente
+                a.failures = user.getFailedAttempts() != null ? user.getFailedAttempts() : 0;
+                a.lockedUntil = dbLockedUntil;
+            } else if (dbLockedUntil != null && (a.resetAt == null || dbLockedUntil.isAfter(a.resetAt.plus(lockDuration)))
+                    && (a.lockedUntil == null || dbLockedUntil.isAfter(a.lockedUntil))) {
+                // Bloqueo de otro nodo posterior al último reinicio local
+                a.lockedUntil = dbLockedUntil;
+            }
+            return a.lockedUntil;
+        });
+        if (lockedUntil == null) return 0;
+        long seconds = Duration.between(Instant.now(), lockedUntil).toSeconds();
+        return Math.max(0, seconds + 1);
+    }
+
+    /**
+     * Registra un login exitoso: actualiza el último login y reinicia los fallos.
+     */
+    public void loginSucceeded(Long userId) {
+        if (!enabled) return;
+        update(userId, a -> {
+            a.lastLogin = Instant.now();
+            clear(a, a.lastLogin);
+            return null;
+        });
+    }
+
+    /**
+     * Registra una contraseña incorrecta.
+     *
+     * @return {@code true} si este fallo bloqueó la cuenta.
+     */
+    public boolean loginFailed(Long userId) {
+        if (!enabled) return false;
+        boolean locked = update(userId, a -> {
+            a.dirty = true;
+            a.newFailures++;
+            if (++a.failures < maxAttempts) return false;
+            a.failures = 0;
+            a.lockedUntil = Instant.now().plus(lockDuration);
+            a.lockPending = true;
+            return true;
+        });
+        if (locked) lockouts.increment();
+        return locked;
+    }
+
+    /**
+     * Quita el bloqueo y los fallos acumulados (por ejemplo, tras un cambio de contraseña).
+     */
+    public void reset(Long userId) {
+        if (!enabled) return;
+        update(userId, a -> {
+            clear(a, Instant.now());
+            return null;
+        });
+    }
+
+    /**
+     * Escribe en una transacción las entradas con cambios y descarta las que no tuvieron cambios desde el
+     * flush anterior.
+     */
+    @Scheduled(fixedDelayString = "${auth.login.lockout.flush-interval-ms:10000}")
+    public void flush() {
+        List<Pending> pending = new ArrayList<>();
+        for (Map.Entry<Long, Activity> e : entries.entrySet()) {
+            Activity a = e.getValue();
+            synchronized (a) {
+                if (a.dirty) {
+                    pending.add(new Pending(e.getKey(), a.lastLogin, a.resetAt, a.newFailures,
+                            a.lockPending ? a.lockedUntil : null));
+                    a.lastLogin = null;
+                    a.resetAt = null;
+                    a.newFailures = 0;
+                    a.lockPending = false;
+                    a.dirty = false;
+                } else {
+                    a.retired = true;
+                    entries.remove(e.getKey(), a);
+                }
+            }
+        }
+        if (pending.isEmpty()) return;
+        List<Pending> failures = pending.stream().filter(p -> p.newFailures() > 0 || p.lockedUntil() != null).toList();
+        Instant defaultLock = Instant.now().plus(lockDuration);
+        try {
+            tx.executeWithoutResult(status -> {
+                jdbc.batchUpdate(UPDATE, pending, pending.size(), (ps, p) -> {
+                    ps.setTimestamp(1, timestamp(p.lastLogin()));
+                    ps.setInt(2, p.resetAt() != null ? 1 : 0);
+                    ps.setInt(3, p.newFailures());
+                    ps.setInt(4, p.resetAt() != null ? 1 : 0);
+                    ps.setTimestamp(5, timestamp(p.resetAt() != null ? p.resetAt().plus(lockDuration) : null));
+                    ps.setLong(6, p.userId());
+                });
+                if (failures.isEmpty()) return;
+                jdbc.batchUpdate(LOCK, failures, failures.size(), (ps, p) -> {
+                    Timestamp until = timestamp(p.lockedUntil() != null ? p.lockedUntil() : defaultLock);
+                    ps.setTimestamp(1, until);
+                    ps.setTimestamp(2, until);
+                    ps.setLong(3, p.userId());
+                    ps.setInt(4, maxAttempts);
+                    ps.setInt(5, p.lockedUntil() != null ? 1 : 0);
+                });
+            });
+            logger.debug("Actividad de login escrita para {} usuarios.", pending.size());
+        } catch (RuntimeException ex) {
+            logger.warn("No se pudo escribir la actividad de login de {} usuarios: {}", pending.size(), ex.getMessage());
+            // Se reintenta en el siguiente flush; un reinicio posterior deja sin efecto los fallos no escritos
+            for (Pending p : pending) {
+                update(p.userId(), a -> {
+                    if (a.lastLogin == null) a.lastLogin = p.lastLogin();
+                    if (a.resetAt == null) {
+                        a.resetAt = p.resetAt();
+                        a.newFailures += p.newFailures();
+                        a.lockPending |= p.lockedUntil() != null;
+                    }
+                    a.dirty = true;
+                    return null;
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private <T> T update(Long userId, Function<Activity, T> action) {
+        while (true) {
+            Activity a = entries.computeIfAbsent(userId, k -> new Activity());
+            synchronized (a) {
+                if (!a.retired) return action.apply(a);
+            }
+        }
+    }
+
+    private static void clear(Activity a, Instant at) {
+        a.failures = 0;
+        a.lockedUntil = null;
+        a.newFailures = 0;
+        a.resetAt = at;
+        a.lockPending = false;
+        a.dirty = true;
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.valueOf(LocalDateTime.ofInstant(instant, ZoneOffset.UTC)) : null;
+    }
+}
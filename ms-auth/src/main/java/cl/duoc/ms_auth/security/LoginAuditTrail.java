@@ -0,0 +1,149 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.config.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auditoría de intentos de login con escritura diferida (write-behind).
+ * <p>
+ * {@link #record} solo encola el evento en un {@link MpscRingBuffer} acotado, sin bloqueos ni E/S, así que
+ * el login no espera a la BD. Un hilo de fondo vacía el buffer cada {@code auth.audit.login.flush-interval-ms}
+ * (o antes, en cuanto se acumulan {@code flush-size} eventos) y los inserta en LOGIN_EVENTS con un
+ * batch JDBC por cada {@code flush-size} filas. Con el buffer lleno el evento se descarta y se cuenta. Al
+ * detener la aplicación se escribe lo pendiente, con una espera máxima de {@code shutdown-timeout-ms}.
+ * Métricas: {@code auth.audit.login{result=written|overflow|failed}} y {@code auth.audit.login.buffered}.
+ */
+@Component
+public class LoginAuditTrail {
+
+    /**
+     * Resultado de un intento de login.
+     */
+    public enum Outcome { SUCCESS, BAD_CREDENTIALS, UNKNOWN_USER, INACTIVE, RATE_LIMITED, LOCKED }
+
+    private record LoginEvent(String username, Long userId, String clientIp, Outcome outcome, LocalDateTime at) {}
+
+    private static final String INSERT =
+            "INSERT INTO LOGIN_EVENTS (USERNAME, USER_ID, CLIENT_IP, OUTCOME, CREATED_AT) VALUES (?, ?, ?, ?, ?)";
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbc;
+    private final MpscRingBuffer<LoginEvent> buffer;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMs;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private final Counter written;
+    private final Counter overflow;
+    private final Counter failed;
+    private static final Logger logger = LoggerFactory.getLogger(LoginAuditTrail.class);
+
+    public LoginAuditTrail(
+            JdbcTemplate jdbc,
+            MeterRegistry registry,
+            @Value("${auth.audit.login.enabled:true}") boolean enabled,
+            @Value("${auth.audit.login.buffer-size:65536}") int bufferSize,
+            @Value("${auth.audit.login.flush-size:500}") int flushSize,
+            @Value("${auth.audit.login.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${auth.audit.login.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.enabled = enabled;
+        this.jdbc = jdbc;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.written = Counter.builder("auth.audit.login").tag("result", "written").register(registry);
+        this.overflow = Counter.builder("auth.audit.login").tag("result", "overflow").register(registry);
+        this.failed = Counter.builder("auth.audit.login").tag("result", "failed").register(registry);
+        Gauge.builder("auth.audit.login.buffered", buffer, MpscRingBuffer::size).register(registry);
+
+        this.writer = new Thread(this::run, "login-audit-writer");
+        this.writer.setDaemon(true);
+        if (enabled) this.writer.start();
+    }
+
+    /**
+     * Registra un intento de login. No bloquea ni accede a la BD.
+     *
+     * @param username El username recibido.
+     * @param userId   El ID interno, si el usuario existe.
+     * @param clientIp La IP de origen.
+     * @param outcome  El resultado del intento.
+     */
+    public void record(String username, Long userId, String clientIp, Outcome outcome) {
+        if (!enabled) return;
+        LoginEvent event = new LoginEvent(truncate(username, 150), userId, truncate(clientIp, 64), outcome,
+                LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC));
+        if (!buffer.offer(event)) {
+            overflow.increment();
+            return;
+        }
+        if (buffer.size() >= flushSize) LockSupport.unpark(writer);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (!enabled) return;
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            logger.warn("Auditoría de login: {} eventos sin escribir al detener la aplicación.", buffer.size());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush();
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<LoginEvent> batch = new ArrayList<>(flushSize);
+        while (buffer.drainTo(batch, flushSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LoginEvent> batch) {
+        try {
+            jdbc.batchUpdate(INSERT, batch, batch.size(), (ps, e) -> {
+                ps.setString(1, e.username());
+                if (e.userId() != null) ps.setLong(2, e.userId());
+                else ps.setNull(2, Types.NUMERIC);
+                ps.setString(3, e.clientIp());
+                ps.setString(4, e.outcome().name());
+                ps.setObject(5, e.at());
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.warn("Auditoría de login: no se pudieron escribir {} eventos: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
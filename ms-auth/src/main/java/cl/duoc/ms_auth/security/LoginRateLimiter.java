@@ -0,0 +1,122 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de intentos de login por nombre de usuario y por IP de origen, y de renovaciones
+ * ({@code /auth/refresh}) por IP de origen.
+ * <p>
+ * Cada clave tiene un token bucket implementado con GCRA (generic cell rate algorithm): el estado completo
+ * es un único {@link AtomicLong} con el "tiempo teórico de llegada" y se actualiza con CAS, sin locks.
+ * Los buckets viven en un mapa acotado (Caffeine, internamente particionado) que descarta las claves inactivas,
+ * de modo que un ataque con millones de usuarios o IPs distintas no hace crecer la memoria sin límite.
+ * El bucket de usuario usa el nombre tal como llega, igual que la búsqueda en la BD y {@link UnknownUsernameCache}:
+ * los nombres distinguen mayúsculas, así que "Ana" y "ana" son cuentas distintas.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Limit usernameLimit;
+    private final Limit ipLimit;
+    private final Limit refreshIpLimit;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    /**
+     * Parámetros de un bucket: ráfaga permitida y ritmo sostenido.
+     *
+     * @param intervalNanos  Tiempo entre tokens repuestos.
+     * @param toleranceNanos Ráfaga tolerada expresada en tiempo ({@code (burst - 1) * interval}).
+     */
+    private record Limit(long intervalNanos, long toleranceNanos) {
+        static Limit of(int burst, int perMinute) {
+            long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            return new Limit(interval, interval * (Math.max(1, burst) - 1L));
+        }
+    }
+
+    @Autowired
+    public LoginRateLimiter(
+            @Value("${auth.login.rate-limit.enabled:true}") boolean enabled,
+            @Value("${auth.login.rate-limit.username.burst:5}") int usernameBurst,
+            @Value("${auth.login.rate-limit.username.per-minute:10}") int usernamePerMinute,
+            @Value("${auth.login.rate-limit.ip.burst:20}") int ipBurst,
+            @Value("${auth.login.rate-limit.ip.per-minute:60}") int ipPerMinute,
+            @Value("${auth.login.rate-limit.refresh-ip.burst:20}") int refreshIpBurst,
+            @Value("${auth.login.rate-limit.refresh-ip.per-minute:60}") int refreshIpPerMinute,
+            @Value("${auth.login.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${auth.login.rate-limit.idle-minutes:10}") long idleMinutes) {
+        this(enabled, usernameBurst, usernamePerMinute, ipBurst, ipPerMinute, refreshIpBurst, refreshIpPerMinute,
+                maxKeys, idleMinutes, System::nanoTime);
+    }
+
+    LoginRateLimiter(boolean enabled, int usernameBurst, int usernamePerMinute, int ipBurst, int ipPerMinute,
+                     int refreshIpBurst, int refreshIpPerMinute, long maxKeys, long idleMinutes, LongSupplier nanoTime) {
+        this.enabled = enabled;
+        this.usernameLimit = Limit.of(usernameBurst, usernamePerMinute);
+        this.ipLimit = Limit.of(ipBurst, ipPerMinute);
+        this.refreshIpLimit = Limit.of(refreshIpBurst, refreshIpPerMinute);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Consume un intento para la IP y el usuario indicados.
+     *
+     * @param username El nombre de usuario del intento.
+     * @param clientIp La IP de origen (puede ser nula).
+     * @throws TooManyRequestsException si cualquiera de los dos buckets está agotado.
+     */
+    public void acquire(String username, String clientIp) {
+        if (!enabled) return;
+        long now = nanoTime.getAsLong();
+        if (clientIp != null) {
+            consume("ip:" + clientIp, ipLimit, now, clientIp, "Demasiados intentos de login");
+        }
+        consume("u:" + username, usernameLimit, now, username, "Demasiados intentos de login");
+    }
+
+    /**
+     * Consume una renovación para la IP indicada. El bucket es independiente del de login: renovar no
+     * gasta intentos de contraseña, pero tampoco permite probar refresh tokens sin límite.
+     *
+     * @param clientIp La IP de origen (puede ser nula).
+     * @throws TooManyRequestsException si el bucket de la IP está agotado.
+     */
+    public void acquireRefresh(String clientIp) {
+        if (!enabled || clientIp == null) return;
+        consume("r:" + clientIp, refreshIpLimit, nanoTime.getAsLong(), clientIp, "Demasiadas renovaciones");
+    }
+
+    private void consume(String key, Limit limit, long now, String subject, String message) {
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long wait = base - now - limit.toleranceNanos();
+            if (wait > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L));
+                logger.debug("Límite alcanzado para {} ({}). Reintentar en {} s.", subject, key, retryAfter);
+                throw new TooManyRequestsException(message, retryAfter);
+            }
+            if (tat.compareAndSet(current, base + limit.intervalNanos())) return;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.entidades.RefreshToken;
+import cl.duoc.ms_auth.repositorio.RefreshTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Almacén de refresh tokens opacos.
+ * <p>
+ * Los tokens son 256 bits aleatorios en base64url; solo se guarda su SHA-256. El almacén principal es una
+ * caché en memoria acotada cuyas entradas viven hasta la expiración del token (se conservan ya usadas para
+ * detectar reutilización). Con {@code auth.refresh.persist=true} cada token se escribe también en
+ * REFRESH_TOKENS, la BD resuelve las búsquedas que no están en memoria (reinicios, otros nodos) y la marca
+ * de uso se hace con un UPDATE condicional, de modo que solo un nodo puede rotar cada token.
+ */
+@Component
+public class RefreshTokenStore {
+
+    /**
+     * Un refresh token emitido.
+     *
+     * @param hash      SHA-256 del token.
+     * @param userId    ID interno del usuario.
+     * @param familyId  Cadena de rotación a la que pertenece.
+     * @param expiresAt Expiración del token.
+     * @param used      Si ya fue canjeado.
+     */
+    public record Entry(String hash, Long userId, String familyId, Instant expiresAt, AtomicBoolean used) {}
+
+    private final SecureRandom random = new SecureRandom();
+    private final Duration ttl;
+    private final boolean persist;
+    private final Clock clock;
+    private final RefreshTokenRepository repository;
+    private final Cache<String, Entry> entries;
+    private final Cache<String, Boolean> revokedFamilies;
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    @Autowired
+    public RefreshTokenStore(
+            RefreshTokenRepository repository,
+            @Value("${auth.refresh.ttl-hours:12}") long ttlHours,
+            @Value("${auth.refresh.max-size:100000}") long maxSize,
+            @Value("${auth.refresh.persist:false}") boolean persist) {
+        this(repository, Duration.ofHours(ttlHours), maxSize, persist, Clock.systemUTC());
+    }
+
+    RefreshTokenStore(RefreshTokenRepository repository, Duration ttl, long maxSize, boolean persist, Clock clock) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.persist = persist;
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.revokedFamilies = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Emite un refresh token nuevo.
+     *
+     * @param userId   ID interno del usuario.
+     * @param familyId Familia de rotación; {@code null} inicia una familia nueva (login).
+     * @return el valor opaco del token, que solo se entrega al cliente.
+     */
+    public String issue(Long userId, String familyId) {
+        byte[] raw = new byte[32];
+        random.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        String family = familyId != null ? familyId : UUID.randomUUID().toString();
+        Instant expiresAt = clock.instant().plus(ttl);
+
+        Entry entry = new Entry(hash(token), userId, family, expiresAt, new AtomicBoolean(false));
+        entries.put(entry.hash(), entry);
+        if (persist) {
+            repository.save(new RefreshToken(entry.hash(), userId, family, LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC)));
+        }
+        return token;
+    }
+
+    /**
+     * Busca un token vigente y no revocado.
+     *
+     * @param token El valor opaco recibido del cliente.
+     * @return la entrada, o vacío si no existe, expiró o su familia fue revocada.
+     */
+    public Optional<Entry> find(String token) {
+        String hash = hash(token);
+        Entry entry = entries.getIfPresent(hash);
+        if (entry == null && persist) {
+            entry = repository.findByTokenHash(hash)
+                    .filter(t -> !"Y".equals(t.getRevoked()))
+                    .map(t -> new Entry(t.getTokenHash(), t.getUserId(), t.getFamilyId(),
+                            t.getExpiresAt().toInstant(ZoneOffset.UTC), new AtomicBoolean("Y".equals(t.getUsed()))))
+                    .orElse(null);
+            if (entry != null) entries.put(hash, entry);
+        }
+        if (entry == null || revokedFamilies.getIfPresent(entry.familyId()) != null) return Optional.empty();
+        if (!clock.instant().isBefore(entry.expiresAt())) return Optional.empty();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Marca el token como canjeado de forma atómica.
+     *
+     * @return {@code false} si ya había sido usado (o revocado en la BD): es una reutilización.
+     */
+    public boolean markUsed(Entry entry) {
+        if (!entry.used().compareAndSet(false, true)) return false;
+        return !persist || repository.markUsed(entry.hash()) == 1;
+    }
+
+    /**
+     * Revoca todos los tokens de una familia de rotación.
+     */
+    public void revokeFamily(String familyId) {
+        revokedFamilies.put(familyId, Boolean.TRUE);
+        if (persist) repository.revokeFamily(familyId);
+    }
+
+    /**
+     * Purga periódica de tokens expirados en la BD; en memoria los expira la caché.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval-ms:3600000}", initialDelayString = "${auth.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!persist) return;
+        int deleted = repository.deleteExpired(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+        logger.debug("Refresh tokens expirados eliminados: {}", deleted);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.entidades.TokenRevocation;
+import cl.duoc.ms_auth.eventos.TokenRevokedEvent;
+import cl.duoc.ms_auth.repositorio.TokenRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revocación de tokens de acceso.
+ * <p>
+ * Mantiene en memoria dos mapas con consulta O(1): los {@code jti} revocados (con su expiración) y, por
+ * usuario, un instante "not-before" bajo el cual se rechazan todos sus tokens. Las revocaciones de este
+ * nodo se escriben en TOKEN_REVOCATIONS y se aplican en memoria cuando su transacción confirma (de inmediato
+ * si no hay transacción), así una revocación revertida no queda activa solo en este nodo; las de los demás nodos se leen de forma
+ * incremental cada {@code auth.revocation.refresh-interval-ms}, pidiendo solo las filas creadas desde la
+ * última lectura. CREATED_AT lo asigna la BD con su propio reloj, así que un nodo con el reloj atrasado no
+ * puede escribir filas por detrás de la marca de lectura; el solape cubre las transacciones que confirman
+ * en un orden distinto al de su CREATED_AT. Las entradas se descartan cuando ya
+ * expiraron todos los tokens a los que afectan, así que el tamaño queda acotado por los tokens vigentes.
+ * Cada revocación nueva, local o leída de la BD, se publica una sola vez como {@link TokenRevokedEvent}.
+ */
+@Component
+public class RevocationStore {
+
+    private final TokenRevocationRepository repository;
+    private final ApplicationEventPublisher events;
+    private final Duration tokenLifetime;
+    private final Duration overlap;
+    private final Clock clock;
+    // jti -> expiración del token (epoch s)
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+    // ID externo del usuario -> not-before (epoch ms) y expiración de la entrada (epoch ms)
+    private final Map<String, long[]> notBefore = new ConcurrentHashMap<>();
+    private volatile LocalDateTime watermark = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Logger logger = LoggerFactory.getLogger(RevocationStore.class);
+
+    @Autowired
+    public RevocationStore(
+            TokenRevocationRepository repository,
+            ApplicationEventPublisher events,
+            @Value("${auth.jwt.expiration-minutes}") long expirationMinutes,
+            @Value("${auth.revocation.refresh-overlap-seconds:30}") long overlapSeconds) {
+        this(repository, events, expirationMinutes, overlapSeconds, Clock.systemUTC());
+    }
+
+    RevocationStore(TokenRevocationRepository repository, ApplicationEventPublisher events,
+                    long expirationMinutes, long overlapSeconds, Clock clock) {
+        this.repository = repository;
+        this.events = events;
+        this.tokenLifetime = Duration.ofMinutes(expirationMinutes);
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+        this.clock = clock;
+    }
+
+    /**
+     * Indica si un token con firma válida fue revocado.
+     * <p>
+     * "iat" tiene precisión de segundos: un token emitido en el mismo segundo del not-before se considera
+     * revocado, porque no se puede saber si se emitió antes o después.
+     */
+    public boolean isRevoked(JwtUtils.JwtPayload payload) {
+        if (payload.jti() != null && revokedJtis.containsKey(payload.jti())) return true;
+        long[] entry = payload.userId() != null ? notBefore.get(payload.userId()) : null;
+        return entry != null && (payload.issuedAt() == null || payload.issuedAt().getEpochSecond() <= entry[0] / 1000);
+    }
+
+    /**
+     * Revoca un token concreto hasta su expiración.
+     */
+    public void revokeToken(JwtUtils.JwtPayload payload) {
+        if (payload.jti() == null) return;
+        repository.save(new TokenRevocation(payload.jti(), null, null, utc(payload.expiresAt())));
+        afterCommit(() -> applyJti(payload.jti(), payload.expiresAt().getEpochSecond()));
+        logger.info("Token {} revocado para el usuario: {}", payload.jti(), payload.username());
+    }
+
+    /**
+     * Revoca todos los tokens del usuario emitidos hasta ahora.
+     *
+     * @param subjectId El ID externo del usuario.
+     */
+    public void revokeUser(String subjectId) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(tokenLifetime);
+        repository.save(new TokenRevocation(null, subjectId, utc(now), utc(expiresAt)));
+        afterCommit(() -> applyNotBefore(subjectId, now.toEpochMilli(), expiresAt.toEpochMilli()));
+        logger.info("Tokens revocados para el usuario con ID externo: {}", subjectId);
+    }
+
+    /**
+     * Lee las revocaciones nuevas de la BD y descarta las ya expiradas. La primera ejecución carga
+     * todas las vigentes.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime now = utc(clock.instant());
+        try {
+            List<TokenRevocation> rows = repository.findByCreatedAtGreaterThanEqualAndExpiresAtGreaterThan(watermark, now);
+            LocalDateTime latest = watermark;
+            for (TokenRevocation r : rows) {
+                long exp = r.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+                if (r.getJti() != null) {
+                    applyJti(r.getJti(), exp / 1000);
+                } else if (r.getSubjectId() != null && r.getNotBefore() != null) {
+                    applyNotBefore(r.getSubjectId(), r.getNotBefore().toInstant(ZoneOffset.UTC).toEpochMilli(), exp);
+                }
+                if (r.getCreatedAt().isAfter(latest)) latest = r.getCreatedAt();
+            }
+            watermark = rows.isEmpty() ? watermark : latest.minus(overlap);
+            if (!rows.isEmpty()) logger.debug("Revocaciones leídas: {}", rows.size());
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron leer las revocaciones de tokens: {}", e.getMessage());
+        }
+
+        long nowSeconds = clock.instant().getEpochSecond();
+        long nowMillis = nowSeconds * 1000;
+        revokedJtis.values().removeIf(exp -> exp < nowSeconds);
+        notBefore.values().removeIf(e -> e[1] < nowMillis);
+    }
+
+    /**
+     * Purga periódica de revocaciones expiradas en la BD.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:3600000}", initialDelayString = "${auth.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(utc(clock.instant()));
+        logger.debug("Revocaciones expiradas eliminadas: {}", deleted);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void applyJti(String jti, long expiresAtSeconds) {
+        if (revokedJtis.put(jti, expiresAtSeconds) == null) {
+            events.publishEvent(new TokenRevokedEvent(jti, null, null));
+        }
+    }
+
+    private void applyNotBefore(String subjectId, long notBeforeMillis, long expiresAtMillis) {
+        // Se conserva el not-before más reciente
+        long[] entry = new long[]{notBeforeMillis, expiresAtMillis};
+        if (notBefore.merge(subjectId, entry, (a, b) -> a[0] >= b[0] ? a : b) == entry) {
+            events.publishEvent(new TokenRevokedEvent(null, subjectId, Instant.ofEpochMilli(notBeforeMillis)));
+        }
+    }
+
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
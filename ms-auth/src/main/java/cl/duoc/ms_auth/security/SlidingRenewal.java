@@ -0,0 +1,95 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Renovación deslizante de tokens de acceso.
+ * <p>
+ * Cuando una petición autenticada llega con un token al que le quedan menos de
+ * {@code auth.jwt.renewal.threshold-seconds}, {@link JwtAuthFilter} adjunta un token nuevo en la cabecera
+ * {@link #HEADER}. Así los clientes activos renuevan sin volver a pasar por bcrypt y cada uno lo hace
+ * según su propia actividad, no todos a la vez. La renovación se corta cuando han pasado
+ * {@code auth.jwt.renewal.max-session-minutes} desde el login original ("auth_time"), y a partir de ahí
+ * el usuario debe volver a autenticarse. Desactivada por defecto.
+ * <p>
+ * El token nuevo no copia los claims del presentado: antes de firmar se leen el estado, los roles y el
+ * código de laboratorio actuales del usuario (desde la caché de {@link UserService#me}, que se invalida al
+ * modificarlo). Un usuario desactivado, eliminado o recreado con otro ID externo no se renueva, y un cambio de
+ * roles se aplica en la siguiente renovación.
+ */
+@Component
+public class SlidingRenewal {
+
+    public static final String HEADER = "X-Renewed-Token";
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Duration maxSession;
+    private final TokenService tokenService;
+    private final UserService users;
+    private final Cache<String, String> renewed;
+    private static final Logger logger = LoggerFactory.getLogger(SlidingRenewal.class);
+
+    public SlidingRenewal(
+            TokenService tokenService,
+            UserService users,
+            @Value("${auth.jwt.renewal.enabled:false}") boolean enabled,
+            @Value("${auth.jwt.renewal.threshold-seconds:300}") long thresholdSeconds,
+            @Value("${auth.jwt.renewal.max-session-minutes:480}") long maxSessionMinutes,
+            @Value("${auth.jwt.renewal.cache-max-size:10000}") long cacheMaxSize) {
+        this.tokenService = tokenService;
+        this.users = users;
+        this.enabled = enabled;
+        this.threshold = Duration.ofSeconds(thresholdSeconds);
+        this.maxSession = Duration.ofMinutes(maxSessionMinutes);
+        // Peticiones concurrentes con el mismo token reciben el mismo token renovado
+        this.renewed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(threshold)
+                .build();
+    }
+
+    /**
+     * Devuelve un token renovado si el token válido recibido está cerca de expirar.
+     *
+     * @param token   El token recibido, ya validado.
+     * @param payload Su payload.
+     * @return el token nuevo, o {@code null} si no corresponde renovar o el usuario ya no está activo.
+     */
+    public String renewIfDue(String token, JwtUtils.JwtPayload payload) {
+        if (!enabled) return null;
+        Instant now = Instant.now();
+        if (now.plus(threshold).isBefore(payload.expiresAt())) return null;
+        if (payload.authTime() == null || !now.isBefore(payload.authTime().plus(maxSession))) return null;
+        return renewed.get(token, t -> {
+            UserResponse current = currentUser(payload);
+            return current == null ? null : tokenService.renewAccessToken(payload, current);
+        });
+    }
+
+    /**
+     * Estado actual del titular del token, o {@code null} si no debe renovarse. Un error al leerlo (BD
+     * saturada, por ejemplo) solo omite la renovación: la petición sigue con el token vigente.
+     */
+    private UserResponse currentUser(JwtUtils.JwtPayload payload) {
+        try {
+            UserResponse user = users.me(payload.username());
+            if (user.active() && user.externalId().equals(payload.userId())) return user;
+            logger.debug("Renovación omitida para el usuario: {}. Inactivo o recreado.", payload.username());
+        } catch (RuntimeException e) {
+            logger.debug("Renovación omitida para el usuario: {}. {}", payload.username(), e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package cl.duoc.ms_auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cl.duoc.ms_auth.eventos.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Caché negativa de nombres de usuario que no existen en la base de datos.
+ * Evita que los intentos de enumeración con usuarios inexistentes lleguen a Oracle en cada intento.
+ * Es acotada y de TTL corto; la creación de un usuario invalida su entrada en este nodo tras el commit
+ * (vía {@link UserChangedEvent}), de modo que un login concurrente que todavía no veía la fila no deja la
+ * ausencia en caché, y el TTL limita el desfase en los demás nodos.
+ */
+@Component
+public class UnknownUsernameCache {
+
+    private final Cache<String, Boolean> missing;
+
+    public UnknownUsernameCache(
+            @Value("${auth.login.negative-cache.max-size:100000}") long maxSize,
+            @Value("${auth.login.negative-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isKnownMissing(String username) {
+        return missing.getIfPresent(username) != null;
+    }
+
+    public void remember(String username) {
+        missing.put(username, Boolean.TRUE);
+    }
+
+    public void invalidate(String username) {
+        missing.invalidate(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.username() != null) invalidate(event.username());
+    }
+}
@@ -0,0 +1,139 @@
+package cl.duoc.ms_auth.security;
+
+
+import cl.duoc.ms_auth.client.CompactClaims;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableWebSecurity
+public class WebSecurityConfig {
+
+    private static final PathPatternRequestMatcher.Builder PATH = PathPatternRequestMatcher.withDefaults();
+
+    /**
+     * Rutas públicas: se autorizan sin token y {@link JwtAuthFilter} no se ejecuta en ellas.
+     */
+    static final RequestMatcher PUBLIC_ROUTES = new OrRequestMatcher(
+            PATH.matcher("/v3/api-docs/**"),
+            PATH.matcher("/swagger-ui.html"),
+            PATH.matcher("/swagger-ui/**"),
+            PATH.matcher(HttpMethod.POST, "/auth/login"),
+            PATH.matcher(HttpMethod.POST, "/auth/refresh"),
+            PATH.matcher(HttpMethod.GET, "/.well-known/jwks.json"),
+            PATH.matcher(HttpMethod.GET, "/actuator/health")
+    );
+
+    /**
+     * Despachos asíncronos de las respuestas diferidas (long-polling y SSE). La petición original ya pasó
+     * la autorización completa; el resto de las rutas asíncronas se vuelve a autorizar como cualquier otra.
+     */
+    static final RequestMatcher ASYNC_ROUTES = new AndRequestMatcher(
+            new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+            new OrRequestMatcher(
+                    PATH.matcher(HttpMethod.GET, "/users/changes"),
+                    PATH.matcher(HttpMethod.GET, "/users/events"))
+    );
+
+    private final KeyProvider keyProvider;
+    private final String issuer;
+    private final long authCacheMaxSize;
+    private final long authCacheTtlSeconds;
+    private static final Logger logger = LoggerFactory.getLogger(WebSecurityConfig.class);
+
+    public WebSecurityConfig(KeyProvider keyProvider,
+                             @Value("${auth.jwt.issuer}") String issuer,
+                             @Value("${auth.jwt.filter-cache.max-size:10000}") long authCacheMaxSize,
+                             @Value("${auth.jwt.filter-cache.ttl-seconds:300}") long authCacheTtlSeconds) {
+        this.keyProvider = keyProvider;
+        this.issuer = issuer;
+        this.authCacheMaxSize = authCacheMaxSize;
+        this.authCacheTtlSeconds = authCacheTtlSeconds;
+    }
+
+    /**
+     * Codificación del perfil compacto, compartida con ms-auth-client; sin {@code auth.jwt.compact.roles}
+     * usa el catálogo por defecto.
+     */
+    @Bean
+    public CompactClaims compactClaims(@Value("${auth.jwt.compact.roles:}") List<String> roleCatalog) {
+        return new CompactClaims(roleCatalog.isEmpty() ? CompactClaims.DEFAULT_ROLE_CATALOG : roleCatalog);
+    }
+
+    @Bean
+    public JwtUtils jwtUtils(CompactClaims compactClaims) {
+        return new JwtUtils(keyProvider.publicKey(), issuer, compactClaims);
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtils jwtUtils, SlidingRenewal renewal,
+                                                   RevocationStore revocations) throws Exception {
+        logger.debug("Configurando la cadena de filtros de seguridad.");
+        var jwtFilter = new JwtAuthFilter(jwtUtils, PUBLIC_ROUTES, renewal, revocations, authCacheMaxSize, Duration.ofSeconds(authCacheTtlSeconds));
+
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(Customizer.withDefaults())
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> {
+                    logger.debug("Configurando reglas de autorización HTTP.");
+                    auth
+                        .requestMatchers(ASYNC_ROUTES).permitAll()
+                        .requestMatchers(PUBLIC_ROUTES).permitAll()
+                        // Introspección (RFC 7662): solo clientes autenticados con una cuenta de servicio
+                        .requestMatchers(HttpMethod.POST, "/auth/introspect").hasRole("SERVICE")
+                        .requestMatchers("/users/**").hasRole("ADMIN")
+                        .requestMatchers("/roles/**").hasRole("ADMIN")
+                        .requestMatchers("/users/me").authenticated()
+                        .anyRequest().authenticated();
+                })
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        logger.debug("Cadena de filtros de seguridad configurada.");
+        return http.build();
+    }
+
+    @Bean
+    CorsConfigurationSource corsConfigurationSource() {
+        logger.debug("Configurando CORS.");
+        var cfg = new CorsConfiguration();
+        cfg.setAllowedOriginPatterns(List.of("http://localhost:*", "http://127.0.0.1:*"));
+        cfg.setAllowedMethods(List.of("GET","POST","PUT","DELETE","PATCH","OPTIONS"));
+        cfg.setAllowedHeaders(List.of("Authorization","Content-Type","Accept"));
+        cfg.setExposedHeaders(List.of(SlidingRenewal.HEADER));
+        cfg.setAllowCredentials(true);
+
+        var source = new UrlBasedCorsConfigurationSource(new PathPatternParser());
+        source.registerCorsConfiguration("/v3/api-docs/**", cfg);
+        source.registerCorsConfiguration("/swagger-ui/**", cfg);
+        source.registerCorsConfiguration("/**", cfg);
+        logger.debug("CORS configurado.");
+        return source;
+    }
+
+}
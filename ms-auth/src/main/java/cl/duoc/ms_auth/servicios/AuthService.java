@@ -0,0 +1,12 @@
+package cl.duoc.ms_auth.servicios;
+
+import cl.duoc.ms_auth.dtos.AuthLoginRequest;
+import cl.duoc.ms_auth.dtos.AuthLoginResponse;
+import cl.duoc.ms_auth.dtos.RefreshTokenRequest;
+import cl.duoc.ms_auth.security.JwtUtils;
+
+public interface AuthService {
+    AuthLoginResponse login(AuthLoginRequest request, String clientIp);
+    AuthLoginResponse refresh(RefreshTokenRequest request, String clientIp); // sin contraseña; rota el refresh token
+    void logout(JwtUtils.JwtPayload token);                 // revoca el token de acceso presentado
+}
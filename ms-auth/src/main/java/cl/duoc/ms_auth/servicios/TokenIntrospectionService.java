@@ -0,0 +1,9 @@
+package cl.duoc.ms_auth.servicios;
+
+import cl.duoc.ms_auth.dtos.TokenIntrospectionResponse;
+
+import java.util.List;
+
+public interface TokenIntrospectionService {
+    TokenIntrospectionResponse introspect(List<String> tokens); // público; responde en el orden recibido
+}
@@ -0,0 +1,14 @@
+package cl.duoc.ms_auth.servicios;
+
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.security.JwtUtils;
+
+import java.time.Instant;
+
+public interface TokenService {
+    String generateAccessToken(User user, String sessionId); // incluye roles, labCode y la familia de refresh ("sid")
+    default String generateAccessToken(User user) { return generateAccessToken(user, null); } // sin sesión de refresh
+    String renewAccessToken(JwtUtils.JwtPayload payload, UserResponse current); // roles y labCode actuales, nueva expiración; conserva auth_time y sid
+    Instant getExpirationInstant(String token);  // "exp" real del token emitido
+}
@@ -0,0 +1,9 @@
+package cl.duoc.ms_auth.servicios;
+
+import cl.duoc.ms_auth.dtos.UserChangesResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+
+public interface UserChangeService {
+    UserChangesResponse changesSince(String cursor, int limit);                                  // ADMIN
+    DeferredResult<UserChangesResponse> poll(String cursor, int limit, long waitSeconds);        // ADMIN (long-polling)
+}
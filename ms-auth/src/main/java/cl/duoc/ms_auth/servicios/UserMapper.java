@@ -5,6 +5,7 @@ import cl.duoc.ms_auth.dtos.UserResponse;
 import cl.duoc.ms_auth.dtos.UserUpdateRequest;
 import cl.duoc.ms_auth.entidades.Role;
 import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.repositorio.UserRow;
 
 import java.util.List;
 import java.util.Set;
@@ -17,6 +18,8 @@ public interface UserMapper {
 
     UserResponse toResponse(User entity);
 
+    List<UserResponse> toResponses(List<UserRow> rows);    // agrupa las filas por usuario, en orden
+
     // utilidades
     default String uuidToString(UUID id) {
         return id != null ? id.toString() : null;
@@ -1,6 +1,9 @@
 package cl.duoc.ms_auth.servicios;
 
+import cl.duoc.ms_auth.config.PageResponse;
 import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserLookupRequest;
+import cl.duoc.ms_auth.dtos.UserLookupResponse;
 import cl.duoc.ms_auth.dtos.UserResponse;
 import cl.duoc.ms_auth.dtos.UserUpdateRequest;
 
@@ -12,5 +15,8 @@ public interface UserService {
     void delete(Long id);                                   // ADMIN (soft o hard según prefieras)
     UserResponse getById(Long id);                          // ADMIN
     List<UserResponse> list();                              // ADMIN (simple; sin paginar para MVP)
+    UserLookupResponse lookup(UserLookupRequest request);   // ADMIN (por lote, en el orden pedido)
+    PageResponse<UserResponse> search(String labCode, String role, Boolean active, String usernamePrefix,
+                                      int page, int size); // ADMIN (filtros en BD, paginado)
     UserResponse me(String username);                       // cualquier autenticado
 }
@@ -0,0 +1,252 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.config.DatabaseGuard;
+import cl.duoc.ms_auth.dtos.AuthLoginRequest;
+import cl.duoc.ms_auth.dtos.AuthLoginResponse;
+import cl.duoc.ms_auth.dtos.RefreshTokenRequest;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.exceptions.ServiceUnavailableException;
+import cl.duoc.ms_auth.exceptions.TooManyRequestsException;
+import cl.duoc.ms_auth.exceptions.UnauthorizedException;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.security.CredentialCache;
+import cl.duoc.ms_auth.security.JwtUtils;
+import cl.duoc.ms_auth.security.LoginActivityTracker;
+import cl.duoc.ms_auth.security.LoginAuditTrail;
+import cl.duoc.ms_auth.security.LoginAuditTrail.Outcome;
+import cl.duoc.ms_auth.security.LoginRateLimiter;
+import cl.duoc.ms_auth.security.RefreshTokenStore;
+import cl.duoc.ms_auth.security.RevocationStore;
+import cl.duoc.ms_auth.security.UnknownUsernameCache;
+import cl.duoc.ms_auth.servicios.AuthService;
+import cl.duoc.ms_auth.servicios.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de autenticación {@link AuthService}.
+ * Maneja la lógica de negocio para el inicio de sesión de usuarios.
+ */
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
+    private final LoginRateLimiter rateLimiter;
+    private final UnknownUsernameCache unknownUsernames;
+    private final CredentialCache credentialCache;
+    private final RefreshTokenStore refreshTokens;
+    private final RevocationStore revocations;
+    private final LoginAuditTrail audit;
+    private final LoginActivityTracker activity;
+    private final DatabaseGuard guards;
+    private final String dummyHash;
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
+    /**
+     * Constructor para inyectar las dependencias necesarias.
+     *
+     * @param userRepository  El repositorio para acceder a los datos de los usuarios.
+     * @param passwordEncoder El codificador para verificar las contraseñas.
+     * @param tokenService    El servicio para generar los tokens de acceso.
+     * @param rateLimiter     El limitador de intentos por usuario e IP.
+     * @param unknownUsernames La caché negativa de usuarios inexistentes.
+     * @param credentialCache La caché opcional de credenciales ya verificadas.
+     * @param refreshTokens   El almacén de refresh tokens.
+     * @param revocations     La lista de tokens de acceso revocados.
+     * @param audit           El registro diferido de intentos de login.
+     * @param activity        El acumulador de último login, fallos y bloqueos.
+     * @param guards          El bulkhead y circuit breaker de las consultas a la BD.
+     */
+    public AuthServiceImpl(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           TokenService tokenService,
+                           LoginRateLimiter rateLimiter,
+                           UnknownUsernameCache unknownUsernames,
+                           CredentialCache credentialCache,
+                           RefreshTokenStore refreshTokens,
+                           RevocationStore revocations,
+                           LoginAuditTrail audit,
+                           LoginActivityTracker activity,
+                           DatabaseGuard guards) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenService = tokenService;
+        this.rateLimiter = rateLimiter;
+        this.unknownUsernames = unknownUsernames;
+        this.credentialCache = credentialCache;
+        this.refreshTokens = refreshTokens;
+        this.revocations = revocations;
+        this.audit = audit;
+        this.activity = activity;
+        this.guards = guards;
+        // Hash con el mismo costo que los reales: usuarios inexistentes pagan la misma verificación bcrypt
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Procesa una solicitud de inicio de sesión.
+     * Aplica primero el límite de intentos por usuario e IP (antes de consultar la BD y de verificar
+     * la contraseña con bcrypt). Los usuarios inexistentes recientes se resuelven desde una caché negativa
+     * sin consultar la BD, y siempre pagan una verificación bcrypt contra un hash ficticio. Luego verifica las credenciales del usuario, su estado de activación y,
+     * si todo es correcto, genera y devuelve un token de acceso junto con la información del usuario.
+     * Cada intento, exitoso o no, se registra en la auditoría de login sin esperar a la BD. Tras varios
+     * fallos consecutivos la cuenta queda bloqueada un tiempo; el bloqueo se decide en memoria. Una cuenta
+     * bloqueada o inactiva se responde como una contraseña incorrecta (401, con una verificación bcrypt contra
+     * el hash ficticio), para no revelar que el usuario existe; el motivo solo queda en la auditoría.
+     * La consulta del usuario pasa por la partición de login de {@link DatabaseGuard}: con la BD saturada o
+     * caída se responde 503 de inmediato.
+     *
+     * @param request  El DTO {@link AuthLoginRequest} que contiene el nombre de usuario y la contraseña.
+     * @param clientIp La IP de origen de la solicitud.
+     * @return Un DTO {@link AuthLoginResponse} con el token y los datos del usuario.
+     * @throws UnauthorizedException si las credenciales son inválidas o el usuario está inactivo.
+     * @throws TooManyRequestsException si se superó el límite de intentos.
+     * @throws ServiceUnavailableException si la BD no admite más consultas de login.
+     */
+    @Override
+    public AuthLoginResponse login(AuthLoginRequest request, String clientIp) {
+        try {
+            rateLimiter.acquire(request.username(), clientIp);
+        } catch (TooManyRequestsException e) {
+            audit.record(request.username(), null, clientIp, Outcome.RATE_LIMITED);
+            throw e;
+        }
+
+        if (unknownUsernames.isKnownMissing(request.username())) {
+            throw rejectUnknown(request, clientIp);
+        }
+
+        logger.debug("Buscando usuario: {}", request.username());
+        User u = guards.login(() -> userRepository.findWithRolesByUsername(request.username())).orElse(null);
+        if (u == null) {
+            unknownUsernames.remember(request.username());
+            throw rejectUnknown(request, clientIp);
+        }
+
+        logger.debug("Verificando estado del usuario: {}", request.username());
+        if (!"Y".equalsIgnoreCase(u.getActive())) {
+            // Igual que el bloqueo: la inactividad solo queda en la auditoría
+            passwordEncoder.matches(request.password(), dummyHash);
+            logger.warn("Intento de login fallido para el usuario: {}. Razón: Usuario inactivo.", request.username());
+            audit.record(request.username(), u.getId(), clientIp, Outcome.INACTIVE);
+            throw new UnauthorizedException("Credenciales inválidas");
+        }
+
+        if (activity.lockedSeconds(u) > 0) {
+            // Mismo costo y misma respuesta que una contraseña incorrecta: el bloqueo solo queda en la auditoría
+            passwordEncoder.matches(request.password(), dummyHash);
+            logger.warn("Intento de login rechazado para el usuario: {}. Razón: Cuenta bloqueada.", request.username());
+            audit.record(request.username(), u.getId(), clientIp, Outcome.LOCKED);
+            throw new UnauthorizedException("Credenciales inválidas");
+        }
+
+        logger.debug("Verificando contraseña para el usuario: {}", request.username());
+        if (credentialCache.matches(u, request.password())) {
+            logger.debug("Credenciales verificadas desde caché para el usuario: {}", request.username());
+        } else {
+            if (!passwordEncoder.matches(request.password(), u.getPasswordHash())) {
+                logger.warn("Intento de login fallido para el usuario: {}. Razón: Contraseña incorrecta.", request.username());
+                audit.record(request.username(), u.getId(), clientIp, Outcome.BAD_CREDENTIALS);
+                if (activity.loginFailed(u.getId())) {
+                    logger.warn("Cuenta bloqueada por intentos fallidos: {}", request.username());
+                }
+                throw new UnauthorizedException("Credenciales inválidas");
+            }
+            credentialCache.remember(u, request.password());
+        }
+
+        logger.info("Login exitoso para el usuario: {}", request.username());
+        audit.record(request.username(), u.getId(), clientIp, Outcome.SUCCESS);
+        activity.loginSucceeded(u.getId());
+        return buildResponse(u, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Renueva el token de acceso a partir de un refresh token, sin volver a verificar la contraseña.
+     * El refresh token es de un solo uso: se canjea por uno nuevo de la misma familia. Si se presenta un
+     * token ya canjeado (reutilización, posible robo) se revoca toda la familia y el usuario debe volver
+     * a iniciar sesión.
+     *
+     * Las renovaciones se limitan por IP de origen, como los intentos de login.
+     *
+     * @param request  El DTO {@link RefreshTokenRequest} con el refresh token.
+     * @param clientIp La IP de origen de la solicitud.
+     * @return Un DTO {@link AuthLoginResponse} con el nuevo token de acceso y el nuevo refresh token.
+     * @throws UnauthorizedException si el refresh token es inválido, expiró, fue reutilizado o el usuario está inactivo.
+     * @throws TooManyRequestsException si se superó el límite de renovaciones de la IP.
+     */
+    @Override
+    public AuthLoginResponse refresh(RefreshTokenRequest request, String clientIp) {
+        rateLimiter.acquireRefresh(clientIp);
+        RefreshTokenStore.Entry entry = refreshTokens.find(request.refreshToken())
+                .orElseThrow(() -> new UnauthorizedException("Refresh token inválido"));
+
+        if (!refreshTokens.markUsed(entry)) {
+            logger.warn("Reutilización de refresh token detectada para el usuario con ID: {}. Se revoca la familia.", entry.userId());
+            refreshTokens.revokeFamily(entry.familyId());
+            throw new UnauthorizedException("Refresh token inválido");
+        }
+
+        User u = guards.login(() -> userRepository.findWithRolesById(entry.userId()))
+                .orElseThrow(() -> new UnauthorizedException("Refresh token inválido"));
+        if (!"Y".equalsIgnoreCase(u.getActive())) {
+            logger.warn("Renovación rechazada para el usuario: {}. Razón: Usuario inactivo.", u.getUsername());
+            refreshTokens.revokeFamily(entry.familyId());
+            throw new UnauthorizedException("Usuario inactivo");
+        }
+
+        logger.debug("Token renovado para el usuario: {}", u.getUsername());
+        return buildResponse(u, entry.familyId());
+    }
+
+    /**
+     * Revoca el token de acceso con el que se autenticó la petición, hasta su expiración, y la familia de
+     * refresh tokens de su sesión (claim "sid"), para que la sesión no pueda renovarse después del cierre.
+     *
+     * @param token El payload del token presentado.
+     */
+    @Override
+    public void logout(JwtUtils.JwtPayload token) {
+        revocations.revokeToken(token);
+        if (token.sessionId() != null) {
+            refreshTokens.revokeFamily(token.sessionId());
+        }
+    }
+
+    /**
+     * Emite el refresh token de la familia y un token de acceso que la referencia en "sid".
+     */
+    private AuthLoginResponse buildResponse(User u, String familyId) {
+        String refreshToken = refreshTokens.issue(u.getId(), familyId);
+        String token = tokenService.generateAccessToken(u, familyId);
+
+        var roles = u.getRoles().stream().map(r -> r.getName()).sorted().collect(Collectors.toList());
+
+        return new AuthLoginResponse(
+                token,
+                tokenService.getExpirationInstant(token),
+                u.getExternalId().toString(),
+                u.getUsername(),
+                roles,
+                roles.contains("LAB_TECH") ? u.getLabCode() : null,
+                refreshToken
+        );
+    }
+
+    /**
+     * Rechaza un usuario inexistente con el mismo costo y la misma respuesta que una contraseña incorrecta.
+     */
+    private UnauthorizedException rejectUnknown(AuthLoginRequest request, String clientIp) {
+        passwordEncoder.matches(request.password(), dummyHash);
+        logger.warn("Intento de login fallido para el usuario: {}. Razón: Usuario no encontrado.", request.username());
+        audit.record(request.username(), null, clientIp, Outcome.UNKNOWN_USER);
+        return new UnauthorizedException("Credenciales inválidas");
+    }
+}
@@ -1,11 +1,14 @@
 package cl.duoc.ms_auth.servicios.impl;
 
+import cl.duoc.ms_auth.config.DatabaseGuard;
 import cl.duoc.ms_auth.dtos.RoleResponse;
 import cl.duoc.ms_auth.repositorio.RoleRepository;
 import cl.duoc.ms_auth.servicios.RoleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -17,29 +20,35 @@ import java.util.List;
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepo;
+    private final DatabaseGuard guards;
+    private final TransactionTemplate readOnlyTx;
     private static final Logger logger = LoggerFactory.getLogger(RoleServiceImpl.class);
 
     /**
      * Constructor para inyectar el repositorio de roles.
      *
      * @param roleRepo El repositorio para acceder a los datos de los roles.
+     * @param guards   El bulkhead y circuit breaker de las lecturas de administración.
+     * @param transactionManager El gestor de transacciones, para la lectura de solo lectura.
      */
-    public RoleServiceImpl(RoleRepository roleRepo) {
+    public RoleServiceImpl(RoleRepository roleRepo, DatabaseGuard guards, PlatformTransactionManager transactionManager) {
         this.roleRepo = roleRepo;
+        this.guards = guards;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
     /**
      * Obtiene una lista de todos los roles disponibles en el sistema.
-     * Mapea las entidades de rol a DTOs de respuesta de rol.
+     * La consulta proyecta directamente a {@link RoleResponse} en una transacción de solo lectura,
+     * sin hidratar entidades de rol, dentro de la partición admin de {@link DatabaseGuard}.
      *
      * @return una lista de {@link RoleResponse} que representa todos los roles.
      */
     @Override
     public List<RoleResponse> list() {
         logger.info("Obteniendo todos los roles.");
-        List<RoleResponse> roles = roleRepo.findAll().stream()
-                .map(r -> new RoleResponse(r.getId(), r.getName(), r.getDescription()))
-                .toList();
+        List<RoleResponse> roles = guards.admin(() -> readOnlyTx.execute(status -> roleRepo.findAllResponses()));
         logger.debug("Se encontraron {} roles.", roles.size());
         return roles;
     }
@@ -0,0 +1,97 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.dtos.TokenIntrospectionResponse;
+import cl.duoc.ms_auth.dtos.TokenIntrospectionResult;
+import cl.duoc.ms_auth.security.JwtUtils;
+import cl.duoc.ms_auth.security.RevocationStore;
+import cl.duoc.ms_auth.servicios.TokenIntrospectionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación del servicio de introspección {@link TokenIntrospectionService}.
+ * Valida lotes de tokens con {@link JwtUtils} y guarda los resultados en una caché acotada
+ * indexada por el SHA-256 del token, para no repetir la verificación RSA de tokens ya vistos.
+ * La revocación se consulta en cada introspección, también para los tokens en caché.
+ */
+@Service
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+
+    private final JwtUtils jwtUtils;
+    private final RevocationStore revocations;
+    private final Cache<String, Optional<JwtUtils.JwtPayload>> cache;
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionServiceImpl.class);
+
+    /**
+     * Constructor para inyectar el validador de tokens y configurar la caché de resultados.
+     *
+     * @param jwtUtils   El validador de tokens JWT.
+     * @param revocations La lista de tokens revocados.
+     * @param maxSize    El número máximo de resultados en caché.
+     * @param ttlSeconds El tiempo máximo que un resultado permanece en caché.
+     */
+    public TokenIntrospectionServiceImpl(
+            JwtUtils jwtUtils,
+            RevocationStore revocations,
+            @Value("${auth.introspect.cache.max-size:10000}") long maxSize,
+            @Value("${auth.introspect.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.jwtUtils = jwtUtils;
+        this.revocations = revocations;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Valida cada token del lote y devuelve su resultado en el mismo orden.
+     * Los tokens repetidos o ya consultados se resuelven desde la caché; un token en caché
+     * se informa inactivo si expiró mientras estaba almacenado o si fue revocado.
+     *
+     * @param tokens Los tokens a validar.
+     * @return un {@link TokenIntrospectionResponse} con un resultado por token.
+     */
+    @Override
+    public TokenIntrospectionResponse introspect(List<String> tokens) {
+        logger.debug("Introspección de {} tokens.", tokens.size());
+        Instant now = Instant.now();
+        List<TokenIntrospectionResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            String key = digest(token);
+            JwtUtils.JwtPayload p = cache.get(key, k -> jwtUtils.validateAndParse(token)).orElse(null);
+            if (p != null && !now.isBefore(p.expiresAt())) {
+                cache.invalidate(key);
+                p = null;
+            }
+            if (p == null || revocations.isRevoked(p)) {
+                results.add(TokenIntrospectionResult.INACTIVE);
+            } else {
+                results.add(new TokenIntrospectionResult(true, p.username(), p.userId(), p.roles(), p.labCode(), p.expiresAt()));
+            }
+        }
+        return new TokenIntrospectionResponse(results);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
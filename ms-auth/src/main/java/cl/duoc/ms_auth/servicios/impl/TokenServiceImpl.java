@@ -0,0 +1,195 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.client.CompactClaims;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.security.JwtUtils;
+import cl.duoc.ms_auth.security.KeyProvider;
+import cl.duoc.ms_auth.servicios.TokenService;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de tokens {@link TokenService}.
+ * Se encarga de la generación de tokens de acceso JWT utilizando claves asimétricas RSA.
+ * <p>
+ * Con {@code auth.jwt.expiration-jitter-seconds} la expiración de cada token se adelanta un tiempo aleatorio
+ * dentro de ese rango, para que los usuarios que iniciaron sesión a la misma hora no vuelvan a autenticarse
+ * todos en el mismo instante.
+ */
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private final JWSSigner signer;
+    private final JWSHeader header;
+    private final JWSHeader compactHeader;
+    private final CompactClaims compactClaims;
+    private final boolean compact;
+    private final String issuer;
+    private final long expirationMinutes;
+    private final long jitterSeconds;
+    private static final Logger logger = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+    /**
+     * Constructor que inicializa el servicio de tokens.
+     * Reutiliza la clave privada ya parseada por {@link KeyProvider} y prepara una única vez el firmante
+     * y la cabecera JWS, que son inmutables y seguros para uso concurrente.
+     *
+     * @param keyProvider       El proveedor con el material RSA ya cargado y validado.
+     * @param compactClaims     El codificador del perfil compacto.
+     * @param compact           Si se emiten tokens con el perfil compacto ({@code auth.jwt.compact.enabled}).
+     * @param issuer            El emisor del token (issuer), leído de las propiedades.
+     * @param expirationMinutes El tiempo de vida del token en minutos, leído de las propiedades.
+     * @param jitterSeconds     El adelanto aleatorio máximo de la expiración, en segundos (0 lo desactiva).
+     */
+    public TokenServiceImpl(
+            KeyProvider keyProvider,
+            CompactClaims compactClaims,
+            @Value("${auth.jwt.compact.enabled:false}") boolean compact,
+            @Value("${auth.jwt.issuer}")        String issuer,
+            @Value("${auth.jwt.expiration-minutes}") long expirationMinutes,
+            @Value("${auth.jwt.expiration-jitter-seconds:0}") long jitterSeconds
+    ) {
+        logger.info("Inicializando TokenServiceImpl.");
+        this.signer = new RSASSASigner(keyProvider.privateKey());
+        this.header = new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .type(JOSEObjectType.JWT)
+                .keyID(keyProvider.keyId())
+                .build();
+        // Perfil compacto: el typ propio es lo que lo distingue al validar
+        this.compactHeader = new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .type(CompactClaims.TYPE)
+                .keyID(keyProvider.keyId())
+                .build();
+        this.compactClaims = compactClaims;
+        this.compact = compact;
+        this.issuer = issuer;
+        this.expirationMinutes = expirationMinutes;
+        // El jitter nunca puede consumir más de la mitad del tiempo de vida
+        this.jitterSeconds = Math.max(0, Math.min(jitterSeconds, expirationMinutes * 30));
+        logger.info("TokenServiceImpl inicializado correctamente.");
+    }
+
+    @Override
+    public String generateAccessToken(User user, String sessionId) {
+        logger.debug("Generando token de acceso para el usuario: {}", user.getUsername());
+        var roles = user.getRoles().stream().map(Role::getName).sorted().collect(Collectors.toList());
+        String labCode = roles.contains("LAB_TECH") ? user.getLabCode() : null;
+
+        String token = sign(user.getUsername(), user.getExternalId(), roles, labCode, null, sessionId);
+        logger.info("Token de acceso generado exitosamente para el usuario: {}", user.getUsername());
+        return token;
+    }
+
+    @Override
+    public String renewAccessToken(JwtUtils.JwtPayload payload, UserResponse current) {
+        logger.debug("Renovando token de acceso para el usuario: {}", payload.username());
+        var roles = current.roles().stream().sorted().collect(Collectors.toList());
+        String labCode = roles.contains("LAB_TECH") ? current.labCode() : null;
+        return sign(payload.username(), UUID.fromString(payload.userId()), roles, labCode, payload.authTime(),
+                payload.sessionId());
+    }
+
+    /**
+     * Lee la expiración del token ya emitido, sin volver a verificar la firma.
+     *
+     * @param token Un token generado por este servicio.
+     * @return el claim "exp" del token.
+     */
+    @Override
+    public Instant getExpirationInstant(String token) {
+        try {
+            return SignedJWT.parse(token).getJWTClaimsSet().getExpirationTime().toInstant();
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Token mal formado", e);
+        }
+    }
+
+    /**
+     * Firma un token con los claims indicados.
+     *
+     * @param authTime  Instante del login original al renovar; {@code null} en un login (equivale a "iat").
+     * @param sessionId Familia de refresh tokens de la sesión, o {@code null} si no la hay.
+     */
+    private String sign(String username, UUID externalId, List<String> roles, String labCode, Instant authTime,
+                        String sessionId) {
+        try {
+            var now = Instant.now();
+            var exp = now.plus(expirationMinutes, ChronoUnit.MINUTES);
+            if (jitterSeconds > 0) {
+                exp = exp.minusSeconds(ThreadLocalRandom.current().nextLong(jitterSeconds + 1));
+            }
+            Date authTimeClaim = authTime != null ? Date.from(authTime) : null;
+            String jti = newJti();
+
+            long roleMask = compact ? compactClaims.encodeRoles(roles) : -1;
+
+            SignedJWT jwt;
+            if (roleMask >= 0) {
+                var claims = new JWTClaimsSet.Builder()
+                        .issuer(issuer)
+                        .subject(username)
+                        .jwtID(jti)
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(exp))
+                        .claim(JwtUtils.AUTH_TIME, authTimeClaim)
+                        .claim(JwtUtils.SESSION_ID, sessionId)
+                        .claim(CompactClaims.USER_ID, CompactClaims.encodeUserId(externalId))
+                        .claim(CompactClaims.ROLES, roleMask)
+                        .claim(CompactClaims.LAB_CODE, labCode)
+                        .build();
+                jwt = new SignedJWT(compactHeader, claims);
+            } else {
+                if (compact) logger.warn("Rol fuera de auth.jwt.compact.roles para {}: se emite token en formato estándar.", username);
+                var claims = new JWTClaimsSet.Builder()
+                        .issuer(issuer)
+                        .subject(username)
+                        .jwtID(jti)
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(exp))
+                        .claim(JwtUtils.AUTH_TIME, authTimeClaim)
+                        .claim(JwtUtils.SESSION_ID, sessionId)
+                        .claim("userId", externalId.toString())
+                        .claim("roles", roles)
+                        .claim("labCode", labCode)
+                        .build();
+                jwt = new SignedJWT(header, claims);
+            }
+
+            jwt.sign(signer);
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            logger.error("Error generando JWT para el usuario: {}", username, e);
+            throw new RuntimeException("Error generando JWT", e);
+        }
+    }
+
+    /**
+     * Identificador único del token (claim "jti"): 128 bits aleatorios en base64url, 22 caracteres.
+     */
+    private static String newJti() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
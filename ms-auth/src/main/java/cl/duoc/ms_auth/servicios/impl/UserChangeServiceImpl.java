@@ -0,0 +1,186 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.config.ReadWriteRoutingDataSource;
+import cl.duoc.ms_auth.dtos.UserChangesResponse;
+import cl.duoc.ms_auth.dtos.UserDeletion;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.entidades.UserTombstone;
+import cl.duoc.ms_auth.eventos.UserChangedEvent;
+import cl.duoc.ms_auth.exceptions.BadRequestException;
+import cl.duoc.ms_auth.mappers.UserMapperImpl;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.repositorio.UserTombstoneRepository;
+import cl.duoc.ms_auth.servicios.UserChangeService;
+import cl.duoc.ms_auth.servicios.UserMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementación del feed de cambios de usuarios {@link UserChangeService}.
+ * <p>
+ * El cursor codifica la última posición leída en dos secuencias ordenadas: USERS por (UPDATED_AT, ID),
+ * que mantiene el trigger, y USER_TOMBSTONES por (DELETED_AT, ID). Cada consulta devuelve solo lo que
+ * cambió desde el cursor. Las consultas excluyen los últimos 2 s según el reloj de la BD, para que una
+ * transacción que confirma tarde no quede detrás de un cursor ya entregado. La garantía se limita a esa ventana:
+ * un cambio cuya transacción tarda más de 2 s en confirmar puede perderse y solo se recupera resincronizando
+ * desde cero (sin cursor).
+ * <p>
+ * Con long-polling, si no hay cambios la petición queda en espera. Un {@link UserChangedEvent} local
+ * despierta a los clientes en espera una vez pasada esa ventana. Los cambios hechos en otros nodos se
+ * entregan en la siguiente consulta, como máximo al vencer la espera.
+ */
+@Service
+public class UserChangeServiceImpl implements UserChangeService {
+
+    public static final int MAX_LIMIT = 500;
+    public static final long MAX_WAIT_SECONDS = 30;
+    // Ventana de asentamiento de las consultas (INTERVAL '2' SECOND) más un margen
+    private static final long WAKE_DELAY_MS = 2_250;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepo;
+    private final UserTombstoneRepository tombstoneRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final UserMapper mapper = new UserMapperImpl();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "user-changes-wake");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeServiceImpl.class);
+
+    private record Cursor(LocalDateTime userTs, long userId, LocalDateTime tombTs, long tombId) {}
+
+    private record Waiter(String cursor, int limit, DeferredResult<UserChangesResponse> result) {}
+
+    public UserChangeServiceImpl(UserRepository userRepo, UserTombstoneRepository tombstoneRepo,
+                                 PlatformTransactionManager transactionManager) {
+        this.userRepo = userRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        // El cursor depende del reloj de la BD principal: con réplica, el feed no puede leer de ella
+        this.readOnlyTx.setName(ReadWriteRoutingDataSource.PRIMARY_READ);
+    }
+
+    /**
+     * Devuelve los cambios posteriores al cursor.
+     *
+     * @param cursor El cursor de la respuesta anterior; vacío o nulo para empezar desde el principio.
+     * @param limit  El máximo de usuarios y de eliminaciones por respuesta.
+     * @return los cambios y el nuevo cursor.
+     * @throws BadRequestException si el cursor no es válido.
+     */
+    @Override
+    public UserChangesResponse changesSince(String cursor, int limit) {
+        Cursor from = decode(cursor);
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return readOnlyTx.execute(status -> {
+            List<User> users = userRepo.findChangedSince(from.userTs(), from.userId(), max);
+            List<UserTombstone> tombs = tombstoneRepo.findDeletedSince(from.tombTs(), from.tombId(), max);
+
+            List<UserResponse> upserts = users.stream().map(mapper::toResponse).toList();
+            List<UserDeletion> deletions = tombs.stream()
+                    .map(t -> new UserDeletion(t.getUserId(), t.getExternalId().toString(), t.getUsername(), t.getDeletedAt()))
+                    .toList();
+
+            User lastUser = users.isEmpty() ? null : users.get(users.size() - 1);
+            UserTombstone lastTomb = tombs.isEmpty() ? null : tombs.get(tombs.size() - 1);
+            Cursor next = new Cursor(
+                    lastUser != null ? lastUser.getUpdatedAt() : from.userTs(),
+                    lastUser != null ? lastUser.getId() : from.userId(),
+                    lastTomb != null ? lastTomb.getDeletedAt() : from.tombTs(),
+                    lastTomb != null ? lastTomb.getId() : from.tombId());
+            boolean hasMore = users.size() == max || tombs.size() == max;
+            return new UserChangesResponse(upserts, deletions, encode(next), hasMore);
+        });
+    }
+
+    /**
+     * Igual que {@link #changesSince(String, int)}, pero si no hay cambios espera hasta {@code waitSeconds}
+     * a que ocurra alguno. Al vencer la espera responde vacío con el mismo cursor.
+     */
+    @Override
+    public DeferredResult<UserChangesResponse> poll(String cursor, int limit, long waitSeconds) {
+        UserChangesResponse current = changesSince(cursor, limit);
+        long wait = Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS));
+        DeferredResult<UserChangesResponse> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(wait) + 1_000, current);
+        if (!isEmpty(current) || wait == 0) {
+            result.setResult(current);
+            return result;
+        }
+        Waiter waiter = new Waiter(cursor, limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    /**
+     * Programa un único despertar de los clientes en espera por ráfaga de cambios, después de confirmada
+     * la transacción y pasada la ventana de asentamiento.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (waiters.isEmpty() || !wakeScheduled.compareAndSet(false, true)) return;
+        scheduler.schedule(this::wakeWaiters, WAKE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void wakeWaiters() {
+        wakeScheduled.set(false);
+        // Los clientes al día comparten cursor: una consulta por cursor distinto
+        Map<String, UserChangesResponse> byCursor = new HashMap<>();
+        for (Waiter w : waiters) {
+            if (w.result().isSetOrExpired()) continue;
+            try {
+                UserChangesResponse changes = byCursor.computeIfAbsent(w.cursor() + '|' + w.limit(),
+                        k -> changesSince(w.cursor(), w.limit()));
+                if (!isEmpty(changes)) w.result().setResult(changes);
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo consultar el feed de cambios para un cliente en espera: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static boolean isEmpty(UserChangesResponse r) {
+        return r.upserts().isEmpty() && r.deletions().isEmpty();
+    }
+
+    private static String encode(Cursor c) {
+        String raw = c.userTs() + "~" + c.userId() + "~" + c.tombTs() + "~" + c.tombId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return new Cursor(ORIGIN, 0, ORIGIN, 0);
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("~");
+            return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]),
+                    LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+}
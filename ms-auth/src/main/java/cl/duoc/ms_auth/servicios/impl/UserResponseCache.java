@@ -0,0 +1,126 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.config.SingleFlight;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.eventos.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de {@link UserResponse} por ID y por username para {@code getById} y {@code me}.
+ * <p>
+ * Guarda los records inmutables ya mapeados, acotada y con TTL. Las escrituras de {@link UserServiceImpl}
+ * invalidan las entradas dos veces: dentro de la transacción y otra vez tras el commit (vía
+ * {@link UserChangedEvent}). Cada invalidación avanza una generación; una lectura solo guarda su resultado
+ * si la generación no cambió desde que empezó a leer, comprobándolo dentro del mismo {@code compute} que
+ * la invalidación. Así una lectura que empezó antes del commit no deja en caché la versión anterior.
+ * Los fallos concurrentes de la misma clave comparten una consulta ({@link SingleFlight}); la generación se
+ * captura y el resultado se guarda dentro de esa carga, de modo que quien se suma a una consulta en curso
+ * recibe su resultado pero nunca lo guarda bajo una generación posterior.
+ * Los cambios hechos en otros nodos se reflejan al vencer el TTL. Expone las métricas de Caffeine
+ * (aciertos, fallos, evicciones) como {@code cache.*{cache=users.by-id|users.by-username}}.
+ */
+@Component
+public class UserResponseCache {
+
+    private final Cache<Long, UserResponse> byId;
+    private final Cache<String, UserResponse> byUsername;
+    private final AtomicLong generation = new AtomicLong();
+    // Lecturas concurrentes idénticas comparten una sola consulta: claves "id:" y "u:"
+    private final SingleFlight<String, Optional<UserResponse>> flights;
+
+    public UserResponseCache(
+            MeterRegistry registry,
+            @Value("${auth.users.cache.max-size:5000}") long maxSize,
+            @Value("${auth.users.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${auth.users.single-flight.max-wait-ms:2000}") long singleFlightMaxWaitMs) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(registry, byUsername, "users.by-username");
+        this.flights = new SingleFlight<>(registry, "users.single-flight", Duration.ofMillis(singleFlightMaxWaitMs));
+    }
+
+    public UserResponse getById(Long id, Supplier<Optional<UserResponse>> loader) {
+        UserResponse cached = byId.getIfPresent(id);
+        if (cached != null) return cached;
+        return flights.execute("id:" + id, () -> load(loader)).orElse(null);
+    }
+
+    public UserResponse getByUsername(String username, Supplier<Optional<UserResponse>> loader) {
+        UserResponse cached = byUsername.getIfPresent(username);
+        if (cached != null) return cached;
+        return flights.execute("u:" + username, () -> load(loader)).orElse(null);
+    }
+
+    public UserResponse peekById(Long id) {
+        return byId.getIfPresent(id);
+    }
+
+    public UserResponse peekByUsername(String username) {
+        return byUsername.getIfPresent(username);
+    }
+
+    /**
+     * Generación actual; se lee antes de consultar la BD y se pasa a {@link #put(UserResponse, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidate(Long id, String username) {
+        // Avanzar la generación dentro del compute la ordena respecto de un put concurrente de la misma clave
+        if (id != null) byId.asMap().compute(id, (k, v) -> bump());
+        if (username != null) byUsername.asMap().compute(username, (k, v) -> bump());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId(), event.username());
+    }
+
+    /**
+     * Guarda la respuesta solo si no hubo invalidaciones desde {@code readGeneration}; si las hubo, la
+     * respuesta se devuelve igual pero no se guarda.
+     *
+     * @param response       La respuesta leída de la BD.
+     * @param readGeneration La {@link #generation()} leída antes de la consulta.
+     * @return la misma respuesta.
+     */
+    public UserResponse put(UserResponse response, long readGeneration) {
+        byId.asMap().compute(response.id(), (k, v) -> generation.get() == readGeneration ? response : v);
+        byUsername.asMap().compute(response.username(), (k, v) -> generation.get() == readGeneration ? response : v);
+        return response;
+    }
+
+    // Corre en quien ejecuta la consulta (el líder o quien agotó la espera), nunca en quien solo recibe su resultado
+    private Optional<UserResponse> load(Supplier<Optional<UserResponse>> loader) {
+        long gen = generation();
+        Optional<UserResponse> response = loader.get();
+        response.ifPresent(r -> put(r, gen));
+        return response;
+    }
+
+    private UserResponse bump() {
+        generation.incrementAndGet();
+        return null;
+    }
+}
@@ -0,0 +1,336 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.config.DatabaseGuard;
+import cl.duoc.ms_auth.config.PageResponse;
+import cl.duoc.ms_auth.config.ReadWriteRoutingDataSource;
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserLookupRequest;
+import cl.duoc.ms_auth.dtos.UserLookupResponse;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.dtos.UserUpdateRequest;
+import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.entidades.UserTombstone;
+import cl.duoc.ms_auth.eventos.UserChangedEvent;
+import cl.duoc.ms_auth.exceptions.BadRequestException;
+import cl.duoc.ms_auth.exceptions.ConflictException;
+import cl.duoc.ms_auth.exceptions.NotFoundException;
+import cl.duoc.ms_auth.mappers.UserMapperImpl;
+import cl.duoc.ms_auth.repositorio.RoleRepository;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.repositorio.UserRow;
+import cl.duoc.ms_auth.repositorio.UserSpecifications;
+import cl.duoc.ms_auth.repositorio.UserTombstoneRepository;
+import cl.duoc.ms_auth.security.CredentialCache;
+import cl.duoc.ms_auth.security.LoginActivityTracker;
+import cl.duoc.ms_auth.security.RevocationStore;
+import cl.duoc.ms_auth.servicios.UserMapper;
+import cl.duoc.ms_auth.servicios.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class UserServiceImpl implements UserService {
+
+    // Tamaño de cada IN-list en la búsqueda por lote (Oracle admite hasta 1000)
+    static final int LOOKUP_CHUNK_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final UserRepository userRepo;
+    private final RoleRepository roleRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final CredentialCache credentialCache;
+    private final RevocationStore revocations;
+    private final UserTombstoneRepository tombstoneRepo;
+    private final ApplicationEventPublisher events;
+    private final UserResponseCache responseCache;
+    private final LoginActivityTracker loginActivity;
+    // Bulkhead y circuit breaker de las lecturas de administración
+    private final DatabaseGuard guards;
+    // Transacción de solo lectura solo para las consultas que no resolvió la caché (con réplica, lee de ella)
+    private final TransactionTemplate readOnlyTx;
+    // Lecturas que alimentan la caché y el single-flight: siempre de la principal, nunca una versión atrasada
+    private final TransactionTemplate primaryReadTx;
+    private final UserMapper mapper = new UserMapperImpl();
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+
+    public UserServiceImpl(UserRepository userRepo, RoleRepository roleRepo, PasswordEncoder passwordEncoder,
+                           CredentialCache credentialCache,
+                           RevocationStore revocations, UserTombstoneRepository tombstoneRepo,
+                           ApplicationEventPublisher events, UserResponseCache responseCache,
+                           LoginActivityTracker loginActivity, DatabaseGuard guards,
+                           PlatformTransactionManager transactionManager) {
+        this.userRepo = userRepo;
+        this.roleRepo = roleRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
+        this.revocations = revocations;
+        this.tombstoneRepo = tombstoneRepo;
+        this.events = events;
+        this.responseCache = responseCache;
+        this.loginActivity = loginActivity;
+        this.guards = guards;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.primaryReadTx = new TransactionTemplate(transactionManager);
+        this.primaryReadTx.setReadOnly(true);
+        this.primaryReadTx.setName(ReadWriteRoutingDataSource.PRIMARY_READ);
+    }
+
+    @Override
+    @Transactional
+    public UserResponse create(UserCreateRequest req) {
+        logger.info("Iniciando creación de usuario con username: {}", req.username());
+        if (userRepo.existsByUsername(req.username())) {
+            logger.warn("Conflicto: El username '{}' ya está en uso.", req.username());
+            throw new ConflictException("USERNAME en uso");
+        }
+        if (userRepo.existsByEmail(req.email())) {
+            logger.warn("Conflicto: El email '{}' ya está en uso.", req.email());
+            throw new ConflictException("EMAIL en uso");
+        }
+
+        Set<Role> roles = resolveRoles(req.roles());
+        boolean isTech = roles.stream().anyMatch(r -> "LAB_TECH".equalsIgnoreCase(r.getName()));
+        if (isTech && (req.labCode() == null || req.labCode().isBlank())) {
+            logger.warn("Bad Request: LAB_CODE es obligatorio para el rol LAB_TECH.");
+            throw new BadRequestException("LAB_CODE es obligatorio para LAB_TECH");
+        }
+
+        String hash = passwordEncoder.encode(req.password());
+        User entity = mapper.toNewEntity(req, hash, roles);
+        entity = userRepo.save(entity);
+        events.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, entity.getId(),
+                entity.getExternalId().toString(), entity.getUsername(), false, false));
+        logger.info("Usuario creado exitosamente con ID: {}", entity.getId());
+        return mapper.toResponse(entity);
+    }
+
+    @Override
+    @Transactional
+    public UserResponse update(Long id, UserUpdateRequest req) {
+        logger.info("Iniciando actualización de usuario con ID: {}", id);
+        User u = userRepo.findById(id).orElseThrow(() -> {
+            logger.warn("Not Found: Usuario con ID '{}' no encontrado para actualizar.", id);
+            return new NotFoundException("Usuario no encontrado");
+        });
+
+        Set<Role> roles = null;
+        if (req.roles() != null) roles = resolveRoles(req.roles());
+
+        String hash = null;
+        if (req.password() != null) hash = passwordEncoder.encode(req.password());
+
+        if (roles != null && roles.stream().anyMatch(r -> "LAB_TECH".equalsIgnoreCase(r.getName()))) {
+            String finalLabCode = req.labCode() != null ? req.labCode() : u.getLabCode();
+            if (finalLabCode == null || finalLabCode.isBlank()) {
+                logger.warn("Bad Request: LAB_CODE es obligatorio para el rol LAB_TECH durante la actualización del usuario con ID: {}.", id);
+                throw new BadRequestException("LAB_CODE es obligatorio para LAB_TECH");
+            }
+        }
+
+        boolean deactivated = Boolean.FALSE.equals(req.active()) && "Y".equalsIgnoreCase(u.getActive());
+        boolean activeChanged = req.active() != null && req.active() != "Y".equalsIgnoreCase(u.getActive());
+        boolean rolesChanged = roles != null && !roles.equals(u.getRoles());
+        mapper.applyUpdate(u, req, hash, roles == null ? u.getRoles() : roles);
+        u = userRepo.saveAndFlush(u);
+        responseCache.invalidate(u.getId(), u.getUsername());
+        if (rolesChanged) {
+            // Solo cambió USER_ROLES: se fuerza el avance de UPDATED_AT para el feed de cambios
+            userRepo.touch(u.getId());
+        }
+        if (deactivated) {
+            revocations.revokeUser(u.getExternalId().toString());
+        }
+        if (req.password() != null || req.active() != null || req.roles() != null) {
+            credentialCache.invalidate(u.getUsername());
+        }
+        if (req.password() != null) {
+            // Contraseña restablecida por un administrador: se levanta el bloqueo por intentos fallidos
+            loginActivity.reset(u.getId());
+        }
+        events.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, u.getId(),
+                u.getExternalId().toString(), u.getUsername(), rolesChanged, activeChanged));
+        logger.info("Usuario con ID: {} actualizado exitosamente.", id);
+        return mapper.toResponse(u);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        logger.info("Iniciando eliminación de usuario con ID: {}", id);
+        User u = userRepo.findById(id).orElseThrow(() -> {
+            logger.warn("Not Found: Usuario con ID '{}' no encontrado para eliminar.", id);
+            return new NotFoundException("Usuario no encontrado");
+        });
+        userRepo.delete(u);
+        tombstoneRepo.save(new UserTombstone(u.getId(), u.getExternalId(), u.getUsername()));
+        credentialCache.invalidate(u.getUsername());
+        responseCache.invalidate(u.getId(), u.getUsername());
+        revocations.revokeUser(u.getExternalId().toString());
+        events.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, u.getId(),
+                u.getExternalId().toString(), u.getUsername(), false, false));
+        logger.info("Usuario con ID: {} eliminado exitosamente.", id);
+    }
+
+    @Override
+    public UserResponse getById(Long id) {
+        logger.info("Buscando usuario por ID: {}", id);
+        UserResponse response = responseCache.getById(id,
+                () -> guards.admin(() -> readOne(() -> userRepo.findRowsById(id))));
+        if (response == null) {
+            logger.warn("Not Found: Usuario con ID '{}' no encontrado.", id);
+            throw new NotFoundException("Usuario no encontrado");
+        }
+        logger.debug("Usuario con ID: {} encontrado.", id);
+        return response;
+    }
+
+    @Override
+    public List<UserResponse> list() {
+        logger.info("Listando todos los usuarios.");
+        List<UserResponse> users = guards.admin(() -> readOnlyTx.execute(status -> mapper.toResponses(userRepo.findAllRows())));
+        logger.debug("Se encontraron {} usuarios.", users.size());
+        return users;
+    }
+
+    @Override
+    public UserResponse me(String username) {
+        logger.info("Buscando información para el usuario autenticado: {}", username);
+        UserResponse response = responseCache.getByUsername(username,
+                () -> guards.admin(() -> readOne(() -> userRepo.findRowsByUsername(username))));
+        if (response == null) {
+            logger.warn("Not Found: Usuario autenticado '{}' no encontrado en la base de datos.", username);
+            throw new NotFoundException("Usuario no encontrado");
+        }
+        logger.debug("Información para el usuario '{}' encontrada.", username);
+        return response;
+    }
+
+    /**
+     * Resuelve usuarios por lote. Primero consulta la caché de respuestas; los faltantes se buscan en
+     * IN-lists de hasta {@link #LOOKUP_CHUNK_SIZE} elementos con los roles en la misma consulta. Esas
+     * consultas pueden ir a la réplica, por lo que sus resultados no se guardan en la caché compartida.
+     * Cada lista de la respuesta respeta el orden de la solicitud, con {@code null} si no existe.
+     */
+    @Override
+    public UserLookupResponse lookup(UserLookupRequest req) {
+        List<Long> ids = req.ids() != null ? req.ids() : List.of();
+        List<String> usernames = req.usernames() != null ? req.usernames() : List.of();
+        List<UUID> externalIds;
+        try {
+            externalIds = req.externalIds() != null ? req.externalIds().stream().map(UUID::fromString).toList() : List.of();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("ID externo inválido");
+        }
+        logger.info("Búsqueda por lote: {} IDs, {} usernames, {} IDs externos.", ids.size(), usernames.size(), externalIds.size());
+
+        return guards.admin(() -> readOnlyTx.execute(status -> {
+            Map<Long, UserResponse> foundIds = fetchMissing(ids, responseCache::peekById,
+                    userRepo::findAllWithRolesByIdIn, UserResponse::id);
+            Map<String, UserResponse> foundUsernames = fetchMissing(usernames, responseCache::peekByUsername,
+                    userRepo::findAllWithRolesByUsernameIn, UserResponse::username);
+            Map<UUID, UserResponse> foundExternal = fetchMissing(externalIds, k -> null,
+                    userRepo::findAllWithRolesByExternalIdIn, r -> UUID.fromString(r.externalId()));
+
+            return new UserLookupResponse(inOrder(ids, foundIds), inOrder(usernames, foundUsernames), inOrder(externalIds, foundExternal));
+        }));
+    }
+
+    /**
+     * Búsqueda paginada con filtros opcionales, resuelta en la BD. Un rol inexistente devuelve una página vacía.
+     * Como el resto de lecturas de administración, pasa por la partición admin de {@link DatabaseGuard}.
+     */
+    @Override
+    public PageResponse<UserResponse> search(String labCode, String role, Boolean active, String usernamePrefix,
+                                             int page, int size) {
+        logger.info("Búsqueda de usuarios: labCode={}, role={}, active={}, prefix={}", labCode, role, active, usernamePrefix);
+        var pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), Sort.by("username"));
+
+        List<Specification<User>> filters = new ArrayList<>();
+        if (labCode != null && !labCode.isBlank()) filters.add(UserSpecifications.labCode(labCode));
+        if (active != null) filters.add(UserSpecifications.active(active));
+        if (usernamePrefix != null && !usernamePrefix.isBlank()) filters.add(UserSpecifications.usernameStartsWith(usernamePrefix));
+
+        return guards.admin(() -> readOnlyTx.execute(status -> {
+            if (role != null && !role.isBlank()) {
+                Optional<Role> r = roleRepo.findByName(role.toUpperCase(Locale.ROOT));
+                if (r.isEmpty()) return PageResponse.from(Page.<UserResponse>empty(pageable));
+                filters.add(UserSpecifications.hasRole(r.get().getId()));
+            }
+
+            Page<UserResponse> result = userRepo.findAll(Specification.allOf(filters), pageable).map(mapper::toResponse);
+            logger.debug("Búsqueda de usuarios: {} resultados en total.", result.getTotalElements());
+            return PageResponse.from(result);
+        }));
+    }
+
+    private <K> Map<K, UserResponse> fetchMissing(List<K> keys, Function<K, UserResponse> cached,
+                                                  Function<Collection<K>, List<User>> query,
+                                                  Function<UserResponse, K> keyOf) {
+        Map<K, UserResponse> found = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            UserResponse hit = cached.apply(key);
+            if (hit != null) found.put(key, hit);
+            else missing.add(key);
+        }
+        for (int i = 0; i < missing.size(); i += LOOKUP_CHUNK_SIZE) {
+            List<K> chunk = missing.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, missing.size()));
+            for (User u : query.apply(chunk)) {
+                UserResponse r = mapper.toResponse(u);
+                found.put(keyOf.apply(r), r);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Lectura de un usuario por proyección, en una transacción de solo lectura (sin flush ni snapshots).
+     * Va a la BD principal: el resultado se comparte con otros llamadores (single-flight) y queda en la caché,
+     * y una versión leída de la réplica podría ser anterior a una escritura ya confirmada.
+     */
+    private Optional<UserResponse> readOne(Supplier<List<UserRow>> query) {
+        List<UserResponse> found = primaryReadTx.execute(status -> mapper.toResponses(query.get()));
+        return found == null || found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    private static <K> List<UserResponse> inOrder(List<K> keys, Map<K, UserResponse> found) {
+        // Arrays.asList admite null para las referencias inexistentes
+        UserResponse[] out = new UserResponse[keys.size()];
+        for (int i = 0; i < out.length; i++) out[i] = found.get(keys.get(i));
+        return Arrays.asList(out);
+    }
+
+    private Set<Role> resolveRoles(List<String> names) {
+        logger.debug("Resolviendo roles: {}", names);
+        Set<Role> set = names.stream()
+                .map(n -> roleRepo.findByName(n.toUpperCase(Locale.ROOT))
+                        .orElseThrow(() -> {
+                            logger.warn("Bad Request: Rol inválido '{}' solicitado.", n);
+                            return new BadRequestException("Rol inválido: " + n);
+                        }))
+                .collect(Collectors.toSet());
+        if (set.isEmpty()) {
+            logger.warn("Bad Request: La lista de roles no puede estar vacía.");
+            throw new BadRequestException("Debe indicar al menos un rol");
+        }
+        logger.debug("Roles resueltos exitosamente.");
+        return set;
+    }
+}
@@ -0,0 +1,46 @@
+----------------------------------------------------------------
+-- V1 - Esquema base para H2 (modo Oracle), usado por el perfil de pruebas.
+-- Equivalente a oracle/V1: RAW(16) -> VARBINARY(16) y sin triggers (H2 solo admite triggers Java),
+-- por lo que aquí UPDATED_AT conserva el valor por defecto.
+----------------------------------------------------------------
+CREATE TABLE USERS (
+  ID             NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  EXTERNAL_ID    VARBINARY(16) NOT NULL,
+  USERNAME       VARCHAR2(150) NOT NULL,
+  EMAIL          VARCHAR2(200) NOT NULL,
+  PASSWORD_HASH  VARCHAR2(255) NOT NULL,
+  LAB_CODE       VARCHAR2(50),
+  ACTIVE         CHAR(1) DEFAULT 'Y' NOT NULL CHECK (ACTIVE IN ('Y','N')),
+  CREATED_AT     TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  UPDATED_AT     TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  CONSTRAINT UQ_USERS_USERNAME UNIQUE (USERNAME),
+  CONSTRAINT UQ_USERS_EMAIL    UNIQUE (EMAIL),
+  CONSTRAINT UQ_USERS_EXTID    UNIQUE (EXTERNAL_ID)
+);
+
+CREATE TABLE ROLES (
+  ID           NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  NAME         VARCHAR2(50) NOT NULL,
+  DESCRIPTION  VARCHAR2(255),
+  CREATED_AT   TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  UPDATED_AT   TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  CONSTRAINT UQ_ROLES_NAME UNIQUE (NAME),
+  CONSTRAINT CK_ROLES_UPPER CHECK (NAME = UPPER(NAME))
+);
+
+CREATE TABLE USER_ROLES (
+  USER_ID     NUMBER NOT NULL,
+  ROLE_ID     NUMBER NOT NULL,
+  ASSIGNED_AT TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  CONSTRAINT PK_USER_ROLES PRIMARY KEY (USER_ID, ROLE_ID),
+  CONSTRAINT FK_UR_USER FOREIGN KEY (USER_ID) REFERENCES USERS(ID) ON DELETE CASCADE,
+  CONSTRAINT FK_UR_ROLE FOREIGN KEY (ROLE_ID) REFERENCES ROLES(ID) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_USERS_ACTIVE    ON USERS (ACTIVE);
+CREATE INDEX IDX_USERS_LAB_CODE  ON USERS (LAB_CODE);
+CREATE INDEX IDX_ROLES_NAME      ON ROLES (NAME);
+CREATE INDEX IDX_UR_ROLE_ID      ON USER_ROLES (ROLE_ID);
+
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('ADMIN', 'Administrador');
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('LAB_TECH', 'Técnico de laboratorio');
@@ -0,0 +1,8 @@
+----------------------------------------------------------------
+-- V3 - Índices para GET /users/search (H2)
+----------------------------------------------------------------
+CREATE INDEX IDX_USERS_LAB_ACTIVE ON USERS (LAB_CODE, ACTIVE);
+DROP INDEX IDX_USERS_LAB_CODE;
+
+CREATE INDEX IDX_UR_ROLE_USER ON USER_ROLES (ROLE_ID, USER_ID);
+DROP INDEX IDX_UR_ROLE_ID;
@@ -0,0 +1,6 @@
+----------------------------------------------------------------
+-- V4 - Índices para las búsquedas puntuales y el join de roles (H2); ver oracle/V4
+----------------------------------------------------------------
+
+-- IDX_ROLES_NAME es redundante con UQ_ROLES_NAME
+DROP INDEX IDX_ROLES_NAME;
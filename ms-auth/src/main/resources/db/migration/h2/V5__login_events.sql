@@ -0,0 +1,14 @@
+----------------------------------------------------------------
+-- V5 - Auditoría de intentos de login (H2); ver oracle/V5
+----------------------------------------------------------------
+CREATE TABLE LOGIN_EVENTS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  USERNAME    VARCHAR2(150) NOT NULL,
+  USER_ID     NUMBER,
+  CLIENT_IP   VARCHAR2(64),
+  OUTCOME     VARCHAR2(20) NOT NULL,
+  CREATED_AT  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IDX_LE_USERNAME_CREATED ON LOGIN_EVENTS (USERNAME, CREATED_AT);
+CREATE INDEX IDX_LE_CREATED_AT       ON LOGIN_EVENTS (CREATED_AT);
@@ -0,0 +1,6 @@
+----------------------------------------------------------------
+-- V6 - Último login, intentos fallidos y bloqueo temporal (H2); ver oracle/V6
+----------------------------------------------------------------
+ALTER TABLE USERS ADD COLUMN LAST_LOGIN_AT TIMESTAMP(6);
+ALTER TABLE USERS ADD COLUMN FAILED_ATTEMPTS NUMBER(5) DEFAULT 0 NOT NULL;
+ALTER TABLE USERS ADD COLUMN LOCKED_UNTIL TIMESTAMP(6);
@@ -0,0 +1,4 @@
+----------------------------------------------------------------
+-- V7 - Rol SERVICE (H2); ver oracle/V7
+----------------------------------------------------------------
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('SERVICE', 'Cuenta de servicio (introspección de tokens)');
@@ -1,4 +1,7 @@
 ----------------------------------------------------------------
+-- V1 - Esquema base (equivalente al script.sql original).
+-- Las BD creadas con ese script se marcan con baseline-on-migrate y no lo ejecutan.
+----------------------------------------------------------------
 -- MS1 AUTH - TABLAS
 ----------------------------------------------------------------
 
@@ -72,35 +75,4 @@ END;
 
 -- Roles
 INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('ADMIN', 'Administrador');
-COMMIT;
-
 INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('LAB_TECH', 'Técnico de laboratorio');
-COMMIT;
-
--- Usuarios (coloca hashes bcrypt válidos en PASSWORD_HASH)
-INSERT INTO USERS (USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE)
-VALUES ('admin@demo.cl', 'admin@demo.cl', '$2a$10$Im8YXm3k8adw84lPI9WPL.Rr1TxESNh94UwdbJ3LuZPfQRn4V1jiG', NULL, 'Y');
-
-INSERT INTO USERS (USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE)
-VALUES ('tec1@demo.cl', 'tec1@demo.cl', $2a$10$Im8YXm3k8adw84lPI9WPL.Rr1TxESNh94UwdbJ3LuZPfQRn4V1jiG', 'BIOCHECK', 'Y');
-
-
-INSERT INTO USERS (USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE)
-VALUES ('tec2@demo.cl', 'tec2@demo.cl', '$2a$10$Im8YXm3k8adw84lPI9WPL.Rr1TxESNh94UwdbJ3LuZPfQRn4V1jiG', 'SALUDPLUS_NU', 'Y');
-
-
--- Asignación de roles
-INSERT INTO USER_ROLES (USER_ID, ROLE_ID)
-SELECT u.ID, r.ID FROM USERS u, ROLES r
- WHERE u.USERNAME = 'admin@demo.cl' AND r.NAME = 'ADMIN';
-
-INSERT INTO USER_ROLES (USER_ID, ROLE_ID)
-SELECT u.ID, r.ID FROM USERS u, ROLES r
- WHERE u.USERNAME = 'tec1@demo.cl' AND r.NAME = 'LAB_TECH';
-
-INSERT INTO USER_ROLES (USER_ID, ROLE_ID)
-SELECT u.ID, r.ID FROM USERS u, ROLES r
- WHERE u.USERNAME = 'tec2@demo.cl' AND r.NAME = 'LAB_TECH';
-
-COMMIT;
-
@@ -0,0 +1,44 @@
+----------------------------------------------------------------
+-- V2 - Refresh tokens, revocaciones y feed de cambios de usuarios
+----------------------------------------------------------------
+
+-- USER_TOMBSTONES (eliminaciones para el feed de cambios GET /users/changes; DELETED_AT usa el mismo reloj que el trigger de USERS)
+CREATE TABLE USER_TOMBSTONES (
+  ID           NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  USER_ID      NUMBER NOT NULL,
+  EXTERNAL_ID  RAW(16) NOT NULL,
+  USERNAME     VARCHAR2(150) NOT NULL,
+  DELETED_AT   TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+-- REFRESH_TOKENS (solo se guarda el SHA-256 del token; usado con auth.refresh.persist=true)
+CREATE TABLE REFRESH_TOKENS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  TOKEN_HASH  VARCHAR2(64) NOT NULL,
+  USER_ID     NUMBER NOT NULL,
+  FAMILY_ID   VARCHAR2(36) NOT NULL,
+  EXPIRES_AT  TIMESTAMP(6) NOT NULL,
+  USED        CHAR(1) DEFAULT 'N' NOT NULL CHECK (USED IN ('Y','N')),
+  REVOKED     CHAR(1) DEFAULT 'N' NOT NULL CHECK (REVOKED IN ('Y','N')),
+  CREATED_AT  TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  CONSTRAINT UQ_RT_HASH  UNIQUE (TOKEN_HASH),
+  CONSTRAINT FK_RT_USER  FOREIGN KEY (USER_ID) REFERENCES USERS(ID) ON DELETE CASCADE
+);
+
+-- TOKEN_REVOCATIONS (por JTI o "not-before" por usuario; los nodos la leen de forma incremental por CREATED_AT)
+CREATE TABLE TOKEN_REVOCATIONS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  JTI         VARCHAR2(36),
+  SUBJECT_ID  VARCHAR2(36),
+  NOT_BEFORE  TIMESTAMP(6),
+  EXPIRES_AT  TIMESTAMP(6) NOT NULL,
+  CREATED_AT  TIMESTAMP(6) DEFAULT SYS_EXTRACT_UTC(SYSTIMESTAMP) NOT NULL,
+  CONSTRAINT CK_TR_TARGET CHECK (JTI IS NOT NULL OR (SUBJECT_ID IS NOT NULL AND NOT_BEFORE IS NOT NULL))
+);
+
+CREATE INDEX IDX_USERS_UPD_ID    ON USERS (UPDATED_AT, ID);
+CREATE INDEX IDX_UT_DEL_ID       ON USER_TOMBSTONES (DELETED_AT, ID);
+CREATE INDEX IDX_RT_FAMILY_ID    ON REFRESH_TOKENS (FAMILY_ID);
+CREATE INDEX IDX_RT_EXPIRES_AT   ON REFRESH_TOKENS (EXPIRES_AT);
+CREATE INDEX IDX_TR_CREATED_AT   ON TOKEN_REVOCATIONS (CREATED_AT);
+CREATE INDEX IDX_TR_EXPIRES_AT   ON TOKEN_REVOCATIONS (EXPIRES_AT);
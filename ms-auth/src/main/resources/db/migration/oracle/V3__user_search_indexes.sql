@@ -0,0 +1,13 @@
+----------------------------------------------------------------
+-- V3 - Índices para GET /users/search
+----------------------------------------------------------------
+
+-- Filtro por laboratorio y estado; reemplaza a IDX_USERS_LAB_CODE (su prefijo)
+CREATE INDEX IDX_USERS_LAB_ACTIVE ON USERS (LAB_CODE, ACTIVE);
+DROP INDEX IDX_USERS_LAB_CODE;
+
+-- Filtro por rol resuelto solo con el índice (EXISTS por ROLE_ID y USER_ID); reemplaza a IDX_UR_ROLE_ID
+CREATE INDEX IDX_UR_ROLE_USER ON USER_ROLES (ROLE_ID, USER_ID);
+DROP INDEX IDX_UR_ROLE_ID;
+
+-- El prefijo de username usa el índice único UQ_USERS_USERNAME
@@ -0,0 +1,13 @@
+----------------------------------------------------------------
+-- V4 - Índices para las búsquedas puntuales y el join de roles
+--
+-- findByUsername, findByEmail y la búsqueda por EXTERNAL_ID ya se resuelven con un INDEX UNIQUE SCAN
+-- sobre UQ_USERS_USERNAME, UQ_USERS_EMAIL y UQ_USERS_EXTID; existsByUsername/existsByEmail no leen la tabla.
+-- USER_ROLES queda cubierta en ambos sentidos: PK (USER_ID, ROLE_ID) y IDX_UR_ROLE_USER (ROLE_ID, USER_ID).
+-- No se agregan índices de cobertura: uno sobre USERNAME con PASSWORD_HASH repetiría la búsqueda de
+-- UQ_USERS_USERNAME y cada login y cambio de contraseña mantendría un índice ancho para ahorrar una lectura
+-- por ROWID; ROLES tiene un puñado de filas.
+----------------------------------------------------------------
+
+-- IDX_ROLES_NAME es redundante con UQ_ROLES_NAME
+DROP INDEX IDX_ROLES_NAME;
@@ -0,0 +1,19 @@
+----------------------------------------------------------------
+-- V5 - Auditoría de intentos de login
+--
+-- Se escribe en lotes desde un buffer en memoria (write-behind), nunca dentro del login.
+-- Sin FK a USERS: los registros deben sobrevivir a la eliminación del usuario.
+-- CREATED_AT es el instante del intento (UTC, asignado por la aplicación), no el de la inserción.
+----------------------------------------------------------------
+
+CREATE TABLE LOGIN_EVENTS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY (CACHE 1000) PRIMARY KEY,
+  USERNAME    VARCHAR2(150) NOT NULL,
+  USER_ID     NUMBER,
+  CLIENT_IP   VARCHAR2(64),
+  OUTCOME     VARCHAR2(20) NOT NULL,
+  CREATED_AT  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IDX_LE_USERNAME_CREATED ON LOGIN_EVENTS (USERNAME, CREATED_AT);
+CREATE INDEX IDX_LE_CREATED_AT       ON LOGIN_EVENTS (CREATED_AT);
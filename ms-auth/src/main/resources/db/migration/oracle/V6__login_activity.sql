@@ -0,0 +1,21 @@
+----------------------------------------------------------------
+-- V6 - Último login, intentos fallidos y bloqueo temporal
+--
+-- Las tres columnas las escribe LoginActivityTracker en lotes periódicos (una fila por usuario y ventana).
+-- TRG_USERS_UPD pasa a reaccionar solo a las columnas de datos del usuario: esas escrituras no deben
+-- avanzar UPDATED_AT (feed de cambios, cachés de los consumidores).
+----------------------------------------------------------------
+
+ALTER TABLE USERS ADD (
+  LAST_LOGIN_AT    TIMESTAMP(6),
+  FAILED_ATTEMPTS  NUMBER(5) DEFAULT 0 NOT NULL,
+  LOCKED_UNTIL     TIMESTAMP(6)
+);
+
+CREATE OR REPLACE TRIGGER TRG_USERS_UPD
+BEFORE UPDATE OF EXTERNAL_ID, USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE, UPDATED_AT ON USERS
+FOR EACH ROW
+BEGIN
+  :NEW.UPDATED_AT := SYSTIMESTAMP;
+END;
+/
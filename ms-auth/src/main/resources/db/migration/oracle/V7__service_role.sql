@@ -0,0 +1,4 @@
+----------------------------------------------------------------
+-- V7 - Rol SERVICE para las cuentas de servicio que usan POST /auth/introspect
+----------------------------------------------------------------
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('SERVICE', 'Cuenta de servicio (introspección de tokens)');
@@ -0,0 +1,169 @@
+----------------------------------------------------------------
+-- Esquema completo de referencia y semilla demo.
+-- La aplicación aplica el esquema con Flyway (db/migration/oracle); mantener ambos sincronizados.
+-- Equivale a la migración V7: una BD creada con este script debe arrancar con FLYWAY_BASELINE_VERSION=7
+-- (spring.flyway.baseline-version), o Flyway intentará aplicar V2 sobre tablas que ya existen.
+-- Al agregar una migración, actualizar aquí la versión y el comentario de application.properties.
+----------------------------------------------------------------
+-- MS1 AUTH - TABLAS
+----------------------------------------------------------------
+
+-- USERS
+CREATE TABLE USERS (
+  ID             NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  EXTERNAL_ID    RAW(16) DEFAULT SYS_GUID() NOT NULL,
+  USERNAME       VARCHAR2(150) NOT NULL,
+  EMAIL          VARCHAR2(200) NOT NULL,
+  PASSWORD_HASH  VARCHAR2(255) NOT NULL,
+  LAB_CODE       VARCHAR2(50), -- requerido si el rol del usuario es LAB_TECH
+  ACTIVE         CHAR(1) DEFAULT 'Y' NOT NULL CHECK (ACTIVE IN ('Y','N')),
+  CREATED_AT     TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  UPDATED_AT     TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  LAST_LOGIN_AT  TIMESTAMP(6), -- último login, intentos y bloqueo: escritos en lotes, no avanzan UPDATED_AT
+  FAILED_ATTEMPTS NUMBER(5) DEFAULT 0 NOT NULL,
+  LOCKED_UNTIL   TIMESTAMP(6),
+  CONSTRAINT UQ_USERS_USERNAME UNIQUE (USERNAME),
+  CONSTRAINT UQ_USERS_EMAIL    UNIQUE (EMAIL),
+  CONSTRAINT UQ_USERS_EXTID    UNIQUE (EXTERNAL_ID)
+);
+
+-- ROLES
+CREATE TABLE ROLES (
+  ID           NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  NAME         VARCHAR2(50) NOT NULL,
+  DESCRIPTION  VARCHAR2(255),
+  CREATED_AT   TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  UPDATED_AT   TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  CONSTRAINT UQ_ROLES_NAME UNIQUE (NAME),
+  CONSTRAINT CK_ROLES_UPPER CHECK (NAME = UPPER(NAME))
+);
+
+-- USER_ROLES (N..M)
+CREATE TABLE USER_ROLES (
+  USER_ID     NUMBER NOT NULL,
+  ROLE_ID     NUMBER NOT NULL,
+  ASSIGNED_AT TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  CONSTRAINT PK_USER_ROLES PRIMARY KEY (USER_ID, ROLE_ID),
+  CONSTRAINT FK_UR_USER FOREIGN KEY (USER_ID) REFERENCES USERS(ID) ON DELETE CASCADE,
+  CONSTRAINT FK_UR_ROLE FOREIGN KEY (ROLE_ID) REFERENCES ROLES(ID) ON DELETE CASCADE
+);
+
+-- USER_TOMBSTONES (eliminaciones para el feed de cambios GET /users/changes; DELETED_AT usa el mismo reloj que el trigger de USERS)
+CREATE TABLE USER_TOMBSTONES (
+  ID           NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  USER_ID      NUMBER NOT NULL,
+  EXTERNAL_ID  RAW(16) NOT NULL,
+  USERNAME     VARCHAR2(150) NOT NULL,
+  DELETED_AT   TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+-- REFRESH_TOKENS (solo se guarda el SHA-256 del token; usado con auth.refresh.persist=true)
+CREATE TABLE REFRESH_TOKENS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  TOKEN_HASH  VARCHAR2(64) NOT NULL,
+  USER_ID     NUMBER NOT NULL,
+  FAMILY_ID   VARCHAR2(36) NOT NULL,
+  EXPIRES_AT  TIMESTAMP(6) NOT NULL,
+  USED        CHAR(1) DEFAULT 'N' NOT NULL CHECK (USED IN ('Y','N')),
+  REVOKED     CHAR(1) DEFAULT 'N' NOT NULL CHECK (REVOKED IN ('Y','N')),
+  CREATED_AT  TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+  CONSTRAINT UQ_RT_HASH  UNIQUE (TOKEN_HASH),
+  CONSTRAINT FK_RT_USER  FOREIGN KEY (USER_ID) REFERENCES USERS(ID) ON DELETE CASCADE
+);
+
+-- TOKEN_REVOCATIONS (por JTI o "not-before" por usuario; los nodos la leen de forma incremental por CREATED_AT)
+CREATE TABLE TOKEN_REVOCATIONS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  JTI         VARCHAR2(36),
+  SUBJECT_ID  VARCHAR2(36),
+  NOT_BEFORE  TIMESTAMP(6),
+  EXPIRES_AT  TIMESTAMP(6) NOT NULL,
+  CREATED_AT  TIMESTAMP(6) DEFAULT SYS_EXTRACT_UTC(SYSTIMESTAMP) NOT NULL,
+  CONSTRAINT CK_TR_TARGET CHECK (JTI IS NOT NULL OR (SUBJECT_ID IS NOT NULL AND NOT_BEFORE IS NOT NULL))
+);
+
+-- LOGIN_EVENTS (auditoría de intentos de login, escrita en lotes; sin FK para sobrevivir a la eliminación del usuario)
+CREATE TABLE LOGIN_EVENTS (
+  ID          NUMBER GENERATED BY DEFAULT AS IDENTITY (CACHE 1000) PRIMARY KEY,
+  USERNAME    VARCHAR2(150) NOT NULL,
+  USER_ID     NUMBER,
+  CLIENT_IP   VARCHAR2(64),
+  OUTCOME     VARCHAR2(20) NOT NULL,
+  CREATED_AT  TIMESTAMP(6) NOT NULL
+);
+
+----------------------------------------------------------------
+-- MS1 AUTH - ÍNDICES
+----------------------------------------------------------------
+CREATE INDEX IDX_USERS_ACTIVE    ON USERS (ACTIVE);
+CREATE INDEX IDX_USERS_LAB_ACTIVE ON USERS (LAB_CODE, ACTIVE);
+CREATE INDEX IDX_UR_ROLE_USER    ON USER_ROLES (ROLE_ID, USER_ID);
+CREATE INDEX IDX_USERS_UPD_ID    ON USERS (UPDATED_AT, ID);
+CREATE INDEX IDX_UT_DEL_ID       ON USER_TOMBSTONES (DELETED_AT, ID);
+CREATE INDEX IDX_RT_FAMILY_ID    ON REFRESH_TOKENS (FAMILY_ID);
+CREATE INDEX IDX_RT_EXPIRES_AT   ON REFRESH_TOKENS (EXPIRES_AT);
+CREATE INDEX IDX_TR_CREATED_AT   ON TOKEN_REVOCATIONS (CREATED_AT);
+CREATE INDEX IDX_TR_EXPIRES_AT   ON TOKEN_REVOCATIONS (EXPIRES_AT);
+CREATE INDEX IDX_LE_USERNAME_CREATED ON LOGIN_EVENTS (USERNAME, CREATED_AT);
+CREATE INDEX IDX_LE_CREATED_AT       ON LOGIN_EVENTS (CREATED_AT);
+
+----------------------------------------------------------------
+-- MS1 AUTH - TRIGGERS UPDATED_AT
+----------------------------------------------------------------
+CREATE OR REPLACE TRIGGER TRG_USERS_UPD
+BEFORE UPDATE OF EXTERNAL_ID, USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE, UPDATED_AT ON USERS
+FOR EACH ROW
+BEGIN
+  :NEW.UPDATED_AT := SYSTIMESTAMP;
+END;
+/
+
+CREATE OR REPLACE TRIGGER TRG_ROLES_UPD
+BEFORE UPDATE ON ROLES
+FOR EACH ROW
+BEGIN
+  :NEW.UPDATED_AT := SYSTIMESTAMP;
+END;
+/
+
+----------------------------------------------------------------
+-- MS1 AUTH - SEMILLA (REEMPLAZA HASHES POR BCRYPT REALES)
+----------------------------------------------------------------
+
+-- Roles
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('ADMIN', 'Administrador');
+COMMIT;
+
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('LAB_TECH', 'Técnico de laboratorio');
+COMMIT;
+
+INSERT INTO ROLES (NAME, DESCRIPTION) VALUES ('SERVICE', 'Cuenta de servicio (introspección de tokens)');
+COMMIT;
+
+-- Usuarios (coloca hashes bcrypt válidos en PASSWORD_HASH)
+INSERT INTO USERS (USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE)
+VALUES ('admin@demo.cl', 'admin@demo.cl', '$2a$10$Im8YXm3k8adw84lPI9WPL.Rr1TxESNh94UwdbJ3LuZPfQRn4V1jiG', NULL, 'Y');
+
+INSERT INTO USERS (USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE)
+VALUES ('tec1@demo.cl', 'tec1@demo.cl', $2a$10$Im8YXm3k8adw84lPI9WPL.Rr1TxESNh94UwdbJ3LuZPfQRn4V1jiG', 'BIOCHECK', 'Y');
+
+
+INSERT INTO USERS (USERNAME, EMAIL, PASSWORD_HASH, LAB_CODE, ACTIVE)
+VALUES ('tec2@demo.cl', 'tec2@demo.cl', '$2a$10$Im8YXm3k8adw84lPI9WPL.Rr1TxESNh94UwdbJ3LuZPfQRn4V1jiG', 'SALUDPLUS_NU', 'Y');
+
+
+-- Asignación de roles
+INSERT INTO USER_ROLES (USER_ID, ROLE_ID)
+SELECT u.ID, r.ID FROM USERS u, ROLES r
+ WHERE u.USERNAME = 'admin@demo.cl' AND r.NAME = 'ADMIN';
+
+INSERT INTO USER_ROLES (USER_ID, ROLE_ID)
+SELECT u.ID, r.ID FROM USERS u, ROLES r
+ WHERE u.USERNAME = 'tec1@demo.cl' AND r.NAME = 'LAB_TECH';
+
+INSERT INTO USER_ROLES (USER_ID, ROLE_ID)
+SELECT u.ID, r.ID FROM USERS u, ROLES r
+ WHERE u.USERNAME = 'tec2@demo.cl' AND r.NAME = 'LAB_TECH';
+
+COMMIT;
+
@@ -0,0 +1,102 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las conexiones del pool quedan acotadas por los permisos de {@code DatabaseGuard}: una petición que sigue
+ * en curso después de su lectura protegida no retiene la conexión (sin Open Session in View).
+ */
+@SpringBootTest(properties = "auth.db.admin.max-concurrent=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GuardedConnectionTests {
+
+    private static final int REQUESTS = 4;
+    private static final CountDownLatch entered = new CountDownLatch(REQUESTS);
+    private static final CountDownLatch release = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class HoldingController {
+        @Bean
+        SlowAfterRead slowAfterRead(UserService userService) {
+            return new SlowAfterRead(userService);
+        }
+    }
+
+    @RestController
+    static class SlowAfterRead {
+        private final UserService userService;
+
+        SlowAfterRead(UserService userService) {
+            this.userService = userService;
+        }
+
+        // Lectura protegida por la partición admin y después trabajo lento sin BD (serialización, llamadas externas)
+        @GetMapping("/test/slow-after-read")
+        int handle() throws InterruptedException {
+            int users = userService.list().size();
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return users;
+        }
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired DataSource dataSource;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TokenService tokenService;
+
+    @Test
+    void connectionsAreReturnedWhenTheGuardedCallEnds() throws Exception {
+        userService.create(new UserCreateRequest("gc_admin", "gc_admin@lab.cl", "Secreta123", null, List.of("ADMIN"), true));
+        String token = tokenService.generateAccessToken(userRepository.findWithRolesByUsername("gc_admin").orElseThrow());
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        ExecutorService clients = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                requests.add(clients.submit(() -> mvc.perform(get("/test/slow-after-read").header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk())));
+            }
+            assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Las 4 peticiones siguen en curso, pero ninguna está dentro de la partición
+            assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isLessThanOrEqualTo(2);
+
+            release.countDown();
+            for (Future<?> f : requests) f.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+}
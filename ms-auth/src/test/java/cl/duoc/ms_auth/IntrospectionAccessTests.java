@@ -0,0 +1,73 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /auth/introspect solo admite clientes autenticados con el rol SERVICE.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IntrospectionAccessTests {
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TokenService tokenService;
+
+    private String serviceToken;
+    private String adminToken;
+
+    @BeforeAll
+    void seed() {
+        serviceToken = tokenFor("ia_service", "SERVICE");
+        adminToken = tokenFor("ia_admin", "ADMIN");
+    }
+
+    @Test
+    void rejectsAnonymousClients() throws Exception {
+        mvc.perform(introspect(adminToken)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void rejectsTokensWithoutServiceRole() throws Exception {
+        mvc.perform(introspect(adminToken).header("Authorization", "Bearer " + adminToken)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void serviceAccountsCanIntrospect() throws Exception {
+        mvc.perform(introspect(adminToken).header("Authorization", "Bearer " + serviceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].active").value(true));
+    }
+
+    private MockHttpServletRequestBuilder introspect(String token) {
+        return post("/auth/introspect").contentType(MediaType.APPLICATION_JSON).content("""
+                {"tokens": ["%s"]}""".formatted(token));
+    }
+
+    private String tokenFor(String username, String role) {
+        userService.create(new UserCreateRequest(username, username + "@lab.cl", "Secreta123", null, List.of(role), true));
+        return tokenService.generateAccessToken(userRepository.findWithRolesByUsername(username).orElseThrow());
+    }
+}
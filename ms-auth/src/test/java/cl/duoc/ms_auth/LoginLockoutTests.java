@@ -0,0 +1,137 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.security.LoginActivityTracker;
+import cl.duoc.ms_auth.servicios.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bloqueo por intentos fallidos con varios nodos, simulados con un {@link LoginActivityTracker} por nodo
+ * sobre la misma BD, y respuesta de login para cuentas bloqueadas o inactivas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginLockoutTests {
+
+    private static final String PASSWORD = "Secreta123";
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired LoginActivityTracker activity;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void failuresFromAllNodesAddUpToALock() {
+        Long id = create("ll_sum");
+        LoginActivityTracker nodeA = node();
+        LoginActivityTracker nodeB = node();
+        for (int i = 0; i < 3; i++) {
+            assertThat(nodeA.loginFailed(id)).isFalse();
+            assertThat(nodeB.loginFailed(id)).isFalse();
+        }
+        nodeA.flush();
+        nodeB.flush();
+
+        // Ningún nodo llegó a 5 por sí solo, pero la suma sí
+        assertThat(nodeA.lockedSeconds(load("ll_sum"))).isPositive();
+        assertThat(node().lockedSeconds(load("ll_sum"))).isPositive();
+    }
+
+    @Test
+    void nodeWithAStaleViewDoesNotClearAnotherNodesLock() {
+        Long id = create("ll_stale");
+        LoginActivityTracker nodeA = node();
+        LoginActivityTracker nodeB = node();
+        assertThat(nodeB.lockedSeconds(load("ll_stale"))).isZero();
+
+        for (int i = 0; i < 4; i++) nodeA.loginFailed(id);
+        assertThat(nodeA.loginFailed(id)).isTrue();
+        nodeA.flush();
+
+        // B solo vio un fallo y no sabe del bloqueo: antes escribía LOCKED_UNTIL = NULL
+        nodeB.loginFailed(id);
+        nodeB.flush();
+
+        assertThat(load("ll_stale").getLockedUntil()).isNotNull();
+        assertThat(nodeB.lockedSeconds(load("ll_stale"))).isPositive();
+    }
+
+    @Test
+    void resetClearsOnlyLocksCreatedBeforeIt() {
+        Long id = create("ll_reset");
+        LoginActivityTracker nodeA = node();
+        for (int i = 0; i < 5; i++) nodeA.loginFailed(id);
+        nodeA.flush();
+        assertThat(load("ll_reset").getLockedUntil()).isNotNull();
+
+        LoginActivityTracker nodeB = node();
+        nodeB.reset(id);
+        nodeB.flush();
+
+        User user = load("ll_reset");
+        assertThat(user.getLockedUntil()).isNull();
+        assertThat(user.getFailedAttempts()).isZero();
+    }
+
+    @Test
+    void lockedAccountAnswersLikeABadPassword() throws Exception {
+        Long id = create("ll_http");
+        for (int i = 0; i < 5; i++) activity.loginFailed(id);
+
+        String badPassword = login("ll_http", "Incorrecta1").andExpect(status().isUnauthorized())
+                .andReturn().getResponse().getContentAsString();
+        // Contraseña correcta con la cuenta bloqueada: la misma respuesta
+        login("ll_http", PASSWORD).andExpect(status().isUnauthorized()).andExpect(content().json(badPassword));
+    }
+
+    @Test
+    void inactiveAccountAnswersLikeABadPassword() throws Exception {
+        create("ll_ref");
+        userService.create(new UserCreateRequest("ll_inactive", "ll_inactive@lab.cl", PASSWORD, null, List.of("ADMIN"), false));
+
+        String badPassword = login("ll_ref", "Incorrecta1").andExpect(status().isUnauthorized())
+                .andReturn().getResponse().getContentAsString();
+        // Contraseña correcta con la cuenta inactiva: la misma respuesta
+        login("ll_inactive", PASSWORD).andExpect(status().isUnauthorized()).andExpect(content().json(badPassword));
+    }
+
+    private LoginActivityTracker node() {
+        return new LoginActivityTracker(jdbc, transactionManager, new SimpleMeterRegistry(), true, 5, 15);
+    }
+
+    private Long create(String username) {
+        return userService.create(new UserCreateRequest(username, username + "@lab.cl", PASSWORD, null, List.of("ADMIN"), true)).id();
+    }
+
+    private User load(String username) {
+        return userRepository.findWithRolesByUsername(username).orElseThrow();
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        String body = """
+                {"username": "%s", "password": "%s"}""".formatted(username, password);
+        return mvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
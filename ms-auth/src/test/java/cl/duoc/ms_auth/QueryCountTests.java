@@ -0,0 +1,141 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import cl.duoc.ms_auth.servicios.impl.UserResponseCache;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número exacto de sentencias SQL por endpoint, para que una regresión N+1 rompa el build.
+ * El DataSource se envuelve con datasource-proxy; MockMvc ejecuta en el hilo de la prueba, así que el
+ * contador por hilo solo ve las consultas de la petición (no las de las tareas programadas).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTests {
+
+    private static final int USERS = 30;
+    private static final String PASSWORD = "Secreta123";
+
+    @TestConfiguration
+    static class ProxyConfig {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource ds)) return bean;
+                    return ProxyDataSourceBuilder.create(ds).name("counted").countQuery().build();
+                }
+            };
+        }
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TokenService tokenService;
+    @Autowired UserResponseCache responseCache;
+
+    private final List<UserResponse> users = new ArrayList<>();
+    private String bearer;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            boolean tech = i % 2 == 0;
+            users.add(userService.create(new UserCreateRequest("qc_user_" + i, "qc_user_" + i + "@lab.cl", PASSWORD,
+                    tech ? "LAB_" + i : null, tech ? List.of("LAB_TECH", "ADMIN") : List.of("ADMIN"), true)));
+        }
+        User admin = userRepository.findWithRolesByUsername("qc_user_1").orElseThrow();
+        bearer = "Bearer " + tokenService.generateAccessToken(admin);
+    }
+
+    @BeforeEach
+    void reset() {
+        users.forEach(u -> responseCache.invalidate(u.id(), u.username()));
+    }
+
+    @Test
+    void listIsOneQuery() throws Exception {
+        assertQueries(get("/users"), 1);
+    }
+
+    @Test
+    void getByIdAndMeAreOneQuery() throws Exception {
+        assertQueries(get("/users/" + users.get(3).id()), 1);
+        assertQueries(get("/users/me"), 1);
+    }
+
+    @Test
+    void searchLoadsRolesInOneBatch() throws Exception {
+        // página + total + roles de toda la página
+        assertQueries(get("/users/search").param("usernamePrefix", "qc_user_").param("size", "25"), 3);
+    }
+
+    @Test
+    void lookupIsOneQueryPerKeyType() throws Exception {
+        String body = """
+                {"ids": [%d, %d, %d], "usernames": ["qc_user_7", "qc_user_8"]}"""
+                .formatted(users.get(4).id(), users.get(5).id(), users.get(6).id());
+        assertQueries(post("/users/lookup").contentType(MediaType.APPLICATION_JSON).content(body), 2);
+    }
+
+    @Test
+    void rolesListIsOneQuery() throws Exception {
+        assertQueries(get("/roles"), 1);
+    }
+
+    @Test
+    void loginIsOneQuery() throws Exception {
+        String body = """
+                {"username": "qc_user_9", "password": "%s"}""".formatted(PASSWORD);
+        QueryCountHolder.clear();
+        mvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk());
+        assertThat(QueryCountHolder.getGrandTotal().getTotal()).isEqualTo(1);
+    }
+
+    private void assertQueries(RequestBuilder request, int expected) throws Exception {
+        QueryCountHolder.clear();
+        mvc.perform(withAuth(request)).andExpect(status().isOk());
+        assertThat(QueryCountHolder.getGrandTotal().getTotal()).as("sentencias SQL").isEqualTo(expected);
+    }
+
+    private RequestBuilder withAuth(RequestBuilder request) {
+        return servletContext -> {
+            var r = request.buildRequest(servletContext);
+            r.addHeader("Authorization", bearer);
+            return r;
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserLookupRequest;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.dtos.UserUpdateRequest;
+import cl.duoc.ms_auth.servicios.UserService;
+import cl.duoc.ms_auth.servicios.impl.UserResponseCache;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento a la réplica con una segunda H2 como réplica. Las escrituras no se replican, así que un
+ * usuario recién creado solo se encuentra si la lectura fue a la BD principal. La búsqueda por lote lee de
+ * la réplica; {@code getById} y {@code me} leen de la principal porque alimentan la caché compartida.
+ */
+@SpringBootTest(properties = {
+        "auth.datasource.replica.url=jdbc:h2:mem:msauth_replica;MODE=Oracle;DB_CLOSE_DELAY=-1;DEFAULT_NULL_ORDERING=HIGH",
+        "auth.datasource.replica.username=sa",
+        "auth.datasource.replica.password="
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTests {
+
+    @Autowired UserService userService;
+    @Autowired @Qualifier("replicaDataSource") HikariDataSource replica;
+    @Autowired UserResponseCache responseCache;
+
+    @BeforeAll
+    void migrateReplica() {
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsGoToReplicaExceptForTheWriter() {
+        loginAs("rr_admin");
+        UserResponse created = userService.create(request("rr_user_1"));
+
+        loginAs("rr_other");
+        assertThat(lookup(created.id())).isNull();
+
+        loginAs("rr_admin");
+        assertThat(lookup(created.id()).username()).isEqualTo("rr_user_1");
+    }
+
+    @Test
+    void replicaReadsDoNotReachTheSharedCache() {
+        loginAs("rr_admin");
+        UserResponse created = userService.create(request("rr_user_3"));
+        // La réplica tiene la versión anterior del usuario
+        new JdbcTemplate(replica).update("INSERT INTO USERS (ID, EXTERNAL_ID, USERNAME, EMAIL, PASSWORD_HASH) VALUES (?, ?, ?, ?, ?)",
+                created.id(), new byte[16], "rr_user_3", "rr_user_3@lab.cl", "x");
+        userService.update(created.id(), new UserUpdateRequest("rr_user_3_new@lab.cl", null, null, null, null));
+
+        // Otro usuario lee de la réplica: ve la versión anterior, pero no la deja en caché
+        loginAs("rr_other");
+        assertThat(lookup(created.id()).email()).isEqualTo("rr_user_3@lab.cl");
+        assertThat(responseCache.peekById(created.id())).isNull();
+        assertThat(userService.getById(created.id()).email()).isEqualTo("rr_user_3_new@lab.cl");
+
+        loginAs("rr_admin");
+        assertThat(userService.getById(created.id()).email()).isEqualTo("rr_user_3_new@lab.cl");
+    }
+
+    @Test
+    @DirtiesContext
+    void fallsBackToPrimaryWhenReplicaIsDown() {
+        UserResponse created = userService.create(request("rr_user_2"));
+        replica.close();
+
+        loginAs("rr_other");
+        assertThat(lookup(created.id()).username()).isEqualTo("rr_user_2");
+    }
+
+    private UserResponse lookup(Long id) {
+        return userService.lookup(new UserLookupRequest(List.of(id), null, null)).byId().get(0);
+    }
+
+    private static UserCreateRequest request(String username) {
+        return new UserCreateRequest(username, username + "@lab.cl", "Secreta123", null, List.of("ADMIN"), true);
+    }
+
+    private static void loginAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+}
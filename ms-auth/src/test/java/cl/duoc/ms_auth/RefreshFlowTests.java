@@ -0,0 +1,99 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.AuthLoginResponse;
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.servicios.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rotación de refresh tokens por HTTP: reutilización, revocación de la familia, cierre de sesión y límite por IP.
+ */
+@SpringBootTest(properties = {
+        "auth.login.rate-limit.refresh-ip.burst=3",
+        "auth.login.rate-limit.refresh-ip.per-minute=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RefreshFlowTests {
+
+    private static final String PASSWORD = "Secreta123";
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired UserService userService;
+
+    @BeforeAll
+    void seed() {
+        for (String username : List.of("rf_reuse", "rf_limit", "rf_logout")) {
+            userService.create(new UserCreateRequest(username, username + "@lab.cl", PASSWORD, null, List.of("ADMIN"), true));
+        }
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() throws Exception {
+        String first = login("rf_reuse", "10.0.0.1").refreshToken();
+        String second = read(refresh(first, "10.0.0.1").andExpect(status().isOk())).refreshToken();
+
+        // El token ya canjeado se vuelve a presentar: reutilización
+        refresh(first, "10.0.0.1").andExpect(status().isUnauthorized());
+        // El token legítimo más reciente cae con su familia
+        refresh(second, "10.0.0.1").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutRevokesTheRefreshFamilyOfTheSession() throws Exception {
+        AuthLoginResponse rotated = read(refresh(login("rf_logout", "10.0.0.4").refreshToken(), "10.0.0.4")
+                .andExpect(status().isOk()));
+
+        // El token renovado conserva la sesión: cerrar con él revoca la familia completa
+        mvc.perform(post("/auth/logout").header("Authorization", "Bearer " + rotated.token()))
+                .andExpect(status().isNoContent());
+        refresh(rotated.refreshToken(), "10.0.0.4").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshIsRateLimitedPerClientIp() throws Exception {
+        String token = login("rf_limit", "10.0.0.2").refreshToken();
+        for (int i = 0; i < 3; i++) {
+            token = read(refresh(token, "10.0.0.2").andExpect(status().isOk())).refreshToken();
+        }
+        refresh(token, "10.0.0.2").andExpect(status().isTooManyRequests()).andExpect(header().exists("Retry-After"));
+        // Otra IP tiene su propio bucket
+        refresh(token, "10.0.0.3").andExpect(status().isOk());
+    }
+
+    private AuthLoginResponse login(String username, String ip) throws Exception {
+        String body = """
+                {"username": "%s", "password": "%s"}""".formatted(username, PASSWORD);
+        return read(mvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(body)
+                .with(r -> { r.setRemoteAddr(ip); return r; })).andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken, String ip) throws Exception {
+        String body = """
+                {"refreshToken": "%s"}""".formatted(refreshToken);
+        return mvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(body)
+                .with(r -> { r.setRemoteAddr(ip); return r; }));
+    }
+
+    private AuthLoginResponse read(ResultActions result) throws Exception {
+        return om.readValue(result.andReturn().getResponse().getContentAsString(), AuthLoginResponse.class);
+    }
+}
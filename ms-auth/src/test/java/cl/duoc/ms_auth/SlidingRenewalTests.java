@@ -0,0 +1,57 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.dtos.UserUpdateRequest;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.security.JwtUtils;
+import cl.duoc.ms_auth.security.SlidingRenewal;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * La renovación deslizante firma con los roles actuales del usuario, no con los del token presentado.
+ * Con un umbral mayor que la vida del token, toda petición autenticada es candidata a renovación.
+ */
+@SpringBootTest(properties = {
+        "auth.jwt.renewal.enabled=true",
+        "auth.jwt.renewal.threshold-seconds=3600"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlidingRenewalTests {
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TokenService tokenService;
+    @Autowired JwtUtils jwtUtils;
+
+    @Test
+    void renewedTokenCarriesCurrentRoles() throws Exception {
+        UserResponse user = userService.create(new UserCreateRequest("sr_user", "sr_user@lab.cl", "Secreta123",
+                "LAB_SR", List.of("ADMIN", "LAB_TECH"), true));
+        String token = tokenService.generateAccessToken(userRepository.findWithRolesByUsername("sr_user").orElseThrow());
+
+        userService.update(user.id(), new UserUpdateRequest(null, null, null, List.of("ADMIN"), null));
+
+        String renewed = mvc.perform(get("/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SlidingRenewal.HEADER);
+        var payload = jwtUtils.validateAndParse(renewed).orElseThrow();
+        assertThat(payload.roles()).containsExactly("ADMIN");
+        assertThat(payload.labCode()).isNull();
+    }
+}
@@ -0,0 +1,65 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.security.UnknownUsernameCache;
+import cl.duoc.ms_auth.servicios.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Caché negativa de usuarios inexistentes frente a un login concurrente con la creación del usuario.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UnknownUsernameCacheTests {
+
+    private static final String PASSWORD = "Secreta123";
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired UnknownUsernameCache unknownUsernames;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void loginDuringTheCreatingTransactionDoesNotHideTheNewUser() throws Exception {
+        login("nc_race").andExpect(status().isUnauthorized());
+        assertThat(unknownUsernames.isKnownMissing("nc_race")).isTrue();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.create(new UserCreateRequest("nc_race", "nc_race@lab.cl", PASSWORD, null, List.of("ADMIN"), true));
+            // Otro hilo aún no ve la fila sin confirmar: vuelve a dejar la ausencia en caché
+            CompletableFuture.runAsync(() -> {
+                try {
+                    login("nc_race").andExpect(status().isUnauthorized());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).orTimeout(10, TimeUnit.SECONDS).join();
+        });
+
+        login("nc_race").andExpect(status().isOk());
+    }
+
+    private ResultActions login(String username) throws Exception {
+        String body = """
+                {"username": "%s", "password": "%s"}""".formatted(username, PASSWORD);
+        return mvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
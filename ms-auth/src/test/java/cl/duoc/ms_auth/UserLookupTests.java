@@ -0,0 +1,138 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.dtos.UserLookupResponse;
+import cl.duoc.ms_auth.dtos.UserResponse;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import cl.duoc.ms_auth.servicios.impl.UserResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Búsqueda por lote ({@code POST /users/lookup}): orden con nulos, duplicados, IN-lists de 500 y límites.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(QueryCountTests.ProxyConfig.class)
+class UserLookupTests {
+
+    private static final String PASSWORD = "Secreta123";
+    // IDs internos que no existen en la BD de pruebas
+    private static final long MISSING_ID = 900_000_000L;
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TokenService tokenService;
+    @Autowired UserResponseCache responseCache;
+
+    private final List<UserResponse> users = new ArrayList<>();
+    private String bearer;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < 3; i++) {
+            users.add(userService.create(new UserCreateRequest("lk_user_" + i, "lk_user_" + i + "@lab.cl", PASSWORD,
+                    null, List.of("ADMIN"), true)));
+        }
+        bearer = "Bearer " + tokenService.generateAccessToken(userRepository.findWithRolesByUsername("lk_user_0").orElseThrow());
+    }
+
+    @BeforeEach
+    void reset() {
+        users.forEach(u -> responseCache.invalidate(u.id(), u.username()));
+    }
+
+    @Test
+    void answersInRequestOrderWithNullsForMissingReferences() throws Exception {
+        UserLookupResponse response = read(lookup(Map.of(
+                "ids", List.of(users.get(2).id(), MISSING_ID, users.get(0).id()),
+                "usernames", List.of("lk_user_1", "lk_nadie"),
+                "externalIds", List.of("00000000-0000-0000-0000-000000000000", users.get(2).externalId())))
+                .andExpect(status().isOk()));
+
+        assertThat(response.byId()).extracting(u -> u == null ? null : u.username())
+                .containsExactly("lk_user_2", null, "lk_user_0");
+        assertThat(response.byUsername()).extracting(u -> u == null ? null : u.username())
+                .containsExactly("lk_user_1", null);
+        assertThat(response.byExternalId()).extracting(u -> u == null ? null : u.username())
+                .containsExactly(null, "lk_user_2");
+    }
+
+    @Test
+    void repeatedReferencesAreQueriedOnceAndAnsweredInEveryPosition() throws Exception {
+        Long id = users.get(1).id();
+        QueryCountHolder.clear();
+        UserLookupResponse response = read(lookup(Map.of("ids", List.of(id, id, MISSING_ID, id)))
+                .andExpect(status().isOk()));
+
+        assertThat(QueryCountHolder.getGrandTotal().getTotal()).isEqualTo(1);
+        assertThat(response.byId()).hasSize(4);
+        assertThat(response.byId().get(0)).isEqualTo(response.byId().get(1)).isEqualTo(response.byId().get(3));
+        assertThat(response.byId().get(2)).isNull();
+    }
+
+    @Test
+    void missingReferencesAreQueriedInChunksOf500() throws Exception {
+        // 1000 referencias, 501 distintas: dos IN-lists
+        List<Long> ids = new ArrayList<>(LongStream.range(MISSING_ID, MISSING_ID + 501).boxed().toList());
+        ids.addAll(ids.subList(0, 499));
+        QueryCountHolder.clear();
+        UserLookupResponse response = read(lookup(Map.of("ids", ids)).andExpect(status().isOk()));
+
+        assertThat(QueryCountHolder.getGrandTotal().getTotal()).isEqualTo(2);
+        assertThat(response.byId()).hasSize(1000).containsOnlyNulls();
+    }
+
+    @Test
+    void moreThan1000ReferencesPerListFailValidation() throws Exception {
+        Long[] ids = new Long[1001];
+        Arrays.fill(ids, MISSING_ID);
+        lookup(Map.of("ids", List.of(ids))).andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void externalIdThatIsNotAUuidIsABadRequest() throws Exception {
+        // Pasa el patrón de la solicitud (36 caracteres hexadecimales o guiones) pero no es un UUID
+        lookup(Map.of("externalIds", List.of("-".repeat(36))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("ID externo inválido"));
+    }
+
+    private ResultActions lookup(Map<String, ?> body) throws Exception {
+        return mvc.perform(post("/users/lookup").header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsString(body)));
+    }
+
+    private UserLookupResponse read(ResultActions result) throws Exception {
+        return om.readValue(result.andReturn().getResponse().getContentAsString(), UserLookupResponse.class);
+    }
+}
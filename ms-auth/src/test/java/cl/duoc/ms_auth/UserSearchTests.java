@@ -0,0 +1,103 @@
+package cl.duoc.ms_auth;
+
+import cl.duoc.ms_auth.dtos.UserCreateRequest;
+import cl.duoc.ms_auth.repositorio.UserRepository;
+import cl.duoc.ms_auth.servicios.TokenService;
+import cl.duoc.ms_auth.servicios.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Búsqueda paginada ({@code GET /users/search}): filtros por rol, estado y prefijo, orden y tamaño de página.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserSearchTests {
+
+    private static final String PASSWORD = "Secreta123";
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TokenService tokenService;
+
+    private String bearer;
+
+    @BeforeAll
+    void seed() {
+        // Creados fuera de orden alfabético
+        create("srch_c", null, List.of("ADMIN"), true);
+        create("srch_a", "LAB_SR", List.of("LAB_TECH", "ADMIN"), true);
+        create("srch_b", "LAB_SR", List.of("LAB_TECH"), false);
+        // "_" del prefijo es literal: este no debe aparecer con el prefijo "srch_"
+        create("srchxa", null, List.of("ADMIN"), true);
+        bearer = "Bearer " + tokenService.generateAccessToken(userRepository.findWithRolesByUsername("srch_c").orElseThrow());
+    }
+
+    @Test
+    void roleFilterMatchesEachUserOnceAndKeepsTheTotalExact() throws Exception {
+        search(get("/users/search").param("usernamePrefix", "srch_").param("role", "admin"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_a", "srch_c")))
+                .andExpect(jsonPath("$.totalElements").value(2));
+        search(get("/users/search").param("usernamePrefix", "srch_").param("role", "LAB_TECH"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_a", "srch_b")))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void activeFilter() throws Exception {
+        search(get("/users/search").param("usernamePrefix", "srch_").param("active", "false"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_b")));
+        search(get("/users/search").param("usernamePrefix", "srch_").param("active", "true"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_a", "srch_c")));
+    }
+
+    @Test
+    void prefixIsLiteralAndResultsAreSortedByUsername() throws Exception {
+        search(get("/users/search").param("usernamePrefix", "srch_"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_a", "srch_b", "srch_c")));
+        search(get("/users/search").param("usernamePrefix", "srch_").param("labCode", "LAB_SR"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_a", "srch_b")));
+    }
+
+    @Test
+    void unknownRoleGivesAnEmptyPage() throws Exception {
+        search(get("/users/search").param("role", "NO_EXISTE"))
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void pageSizeIsCappedAt200() throws Exception {
+        search(get("/users/search").param("size", "5000"))
+                .andExpect(jsonPath("$.size").value(200));
+        search(get("/users/search").param("usernamePrefix", "srch_").param("size", "2").param("page", "1"))
+                .andExpect(jsonPath("$.content[*].username", contains("srch_c")))
+                .andExpect(jsonPath("$.totalPages").value(2));
+    }
+
+    private ResultActions search(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request.header("Authorization", bearer)).andExpect(status().isOk());
+    }
+
+    private void create(String username, String labCode, List<String> roles, boolean active) {
+        userService.create(new UserCreateRequest(username, username + "@lab.cl", PASSWORD, labCode, roles, active));
+    }
+}
@@ -0,0 +1,80 @@
+package cl.duoc.ms_auth.config;
+
+import cl.duoc.ms_auth.config.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+    private static final long OPEN_NANOS = 10_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, OPEN_NANOS, now::get);
+
+    @Test
+    void opensWhenTheFailureRateReachesTheThreshold() {
+        breaker.onSuccess(breaker.allow());
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        breaker.onFailure(breaker.allow());
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.allow()).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.retryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    void letsASingleProbeThroughAfterTheOpenInterval() {
+        open();
+        now.addAndGet(OPEN_NANOS);
+
+        long probe = breaker.allow();
+        assertThat(probe).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.allow()).isEqualTo(CircuitBreaker.REJECTED);
+
+        breaker.onSuccess(probe);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        // La ventana empieza vacía: un fallo aislado no alcanza minCalls
+        breaker.onFailure(breaker.allow());
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopens() {
+        open();
+        now.addAndGet(OPEN_NANOS);
+        breaker.onFailure(breaker.allow());
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.allow()).isEqualTo(CircuitBreaker.REJECTED);
+        now.addAndGet(OPEN_NANOS);
+        assertThat(breaker.allow()).isNotEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    void resultsFromEarlierGenerationsDoNotDecideTheProbe() {
+        // Llamadas lentas que empezaron con el breaker cerrado
+        long slowSuccess = breaker.allow();
+        long slowFailure = breaker.allow();
+        open();
+        now.addAndGet(OPEN_NANOS);
+        long probe = breaker.allow();
+
+        breaker.onSuccess(slowSuccess);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        breaker.onFailure(slowFailure);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        breaker.onFailure(probe);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private void open() {
+        breaker.onFailure(breaker.allow());
+        breaker.onFailure(breaker.allow());
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+}
@@ -0,0 +1,41 @@
+package cl.duoc.ms_auth.config;
+
+import cl.duoc.ms_auth.config.ConcurrencyLimitFilter.RouteClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests {
+
+    @Test
+    void classifiesRoutes() {
+        assertThat(classify("GET", "/actuator/health/liveness")).isEqualTo(RouteClass.INFRA);
+        assertThat(classify("GET", "/.well-known/jwks.json")).isEqualTo(RouteClass.INFRA);
+
+        assertThat(classify("POST", "/auth/login")).isEqualTo(RouteClass.LOGIN);
+        assertThat(classify("POST", "/auth/refresh")).isEqualTo(RouteClass.LOGIN);
+
+        assertThat(classify("POST", "/auth/logout")).isEqualTo(RouteClass.WRITES);
+        assertThat(classify("POST", "/users")).isEqualTo(RouteClass.WRITES);
+        assertThat(classify("PUT", "/users/7")).isEqualTo(RouteClass.WRITES);
+        assertThat(classify("DELETE", "/users/7")).isEqualTo(RouteClass.WRITES);
+
+        // La búsqueda por lote es un POST de solo lectura
+        assertThat(classify("POST", "/users/lookup")).isEqualTo(RouteClass.READS);
+        assertThat(classify("GET", "/users/7")).isEqualTo(RouteClass.READS);
+        assertThat(classify("GET", "/users/changes")).isEqualTo(RouteClass.READS);
+        assertThat(classify("POST", "/auth/introspect")).isEqualTo(RouteClass.READS);
+    }
+
+    @Test
+    void ignoresTheContextPath() {
+        var request = new MockHttpServletRequest("POST", "/ms-auth/auth/login");
+        request.setContextPath("/ms-auth");
+        assertThat(ConcurrencyLimitFilter.classify(request)).isEqualTo(RouteClass.LOGIN);
+    }
+
+    private static RouteClass classify(String method, String path) {
+        return ConcurrencyLimitFilter.classify(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,88 @@
+package cl.duoc.ms_auth.config;
+
+import cl.duoc.ms_auth.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseGuardTests {
+
+    @Test
+    void bulkheadRejectsWhenThePartitionIsFull() throws Exception {
+        DatabaseGuard guard = guard("auth.db.admin.max-concurrent", "1", "auth.db.admin.max-wait-ms", "0");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> held = CompletableFuture.supplyAsync(() -> guard.admin(() -> {
+            entered.countDown();
+            await(release);
+            return "ok";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.admin(() -> "otra")).isInstanceOf(ServiceUnavailableException.class);
+        // La partición de login es independiente
+        assertThat(guard.login(() -> "login")).isEqualTo("login");
+
+        release.countDown();
+        assertThat(held.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(guard.admin(() -> "libre")).isEqualTo("libre");
+    }
+
+    @Test
+    void onlyDatabaseFailuresOpenTheBreaker() {
+        DatabaseGuard guard = guard("auth.db.circuit.window-size", "2", "auth.db.circuit.min-calls", "2",
+                "auth.db.circuit.failure-threshold", "1.0");
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> guard.admin(() -> { throw new DataIntegrityViolationException("duplicado"); }))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        }
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.admin(() -> { throw new DataAccessResourceFailureException("caída"); }))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> guard.admin(calls::incrementAndGet)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void probeEndingInAnErrorDoesNotLeaveTheBreakerHalfOpen() {
+        DatabaseGuard guard = guard("auth.db.circuit.window-size", "1", "auth.db.circuit.min-calls", "1",
+                "auth.db.circuit.open-ms", "0");
+        assertThatThrownBy(() -> guard.admin(() -> { throw new DataAccessResourceFailureException("caída"); }))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        // La llamada de prueba termina con un Error: cuenta como fallo y el breaker vuelve a abrirse
+        assertThatThrownBy(() -> guard.admin(() -> { throw new StackOverflowError(); }))
+                .isInstanceOf(StackOverflowError.class);
+
+        // Pasado el tiempo abierto (0 ms) hay una nueva llamada de prueba, y al funcionar se cierra
+        assertThat(guard.admin(() -> "ok")).isEqualTo("ok");
+        assertThat(guard.admin(() -> "ok")).isEqualTo("ok");
+    }
+
+    private static DatabaseGuard guard(String... properties) {
+        MockEnvironment env = new MockEnvironment();
+        for (int i = 0; i < properties.length; i += 2) env.setProperty(properties[i], properties[i + 1]);
+        return new DatabaseGuard(env, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cl.duoc.ms_auth.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void growsWhileLatencyStaysFlatUpToMax() {
+        var limiter = limiter(10, 5, 40);
+        round(limiter, FAST);
+        int previous = limiter.limit();
+        for (int i = 0; i < 5; i++) round(limiter, FAST);
+        assertThat(limiter.limit()).isGreaterThan(previous);
+
+        for (int i = 0; i < 50; i++) round(limiter, FAST);
+        assertThat(limiter.limit()).isEqualTo(40);
+    }
+
+    @Test
+    void shrinksUnderAddedLatencyDownToMin() {
+        var limiter = limiter(20, 5, 40);
+        for (int i = 0; i < 3; i++) round(limiter, FAST);
+        int beforeSlowdown = limiter.limit();
+
+        round(limiter, SLOW);
+        assertThat(limiter.limit()).isLessThan(beforeSlowdown);
+
+        for (int i = 0; i < 20; i++) round(limiter, SLOW);
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void doesNotAdjustWhenTheLimitWasNotUsed() {
+        var limiter = limiter(20, 5, 40);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(SLOW, true);
+        }
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectsBeyondTheLimit() {
+        var limiter = limiter(2, 1, 10);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    private static GradientLimiter limiter(int initial, int min, int max) {
+        // Ventana de duración cero: cada muestra cierra una ventana
+        return new GradientLimiter(initial, min, max, 2.0, 0.5, 0, 1);
+    }
+
+    /**
+     * Ocupa todo el límite y cierra una sola ventana con la latencia indicada.
+     */
+    private static void round(GradientLimiter limiter, long rttNanos) {
+        int n = limiter.limit();
+        for (int i = 0; i < n; i++) assertThat(limiter.tryAcquire()).isTrue();
+        for (int i = 1; i < n; i++) limiter.release(rttNanos, false);
+        limiter.release(rttNanos, true);
+    }
+}
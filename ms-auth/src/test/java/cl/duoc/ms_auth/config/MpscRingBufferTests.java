@@ -0,0 +1,106 @@
+package cl.duoc.ms_auth.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTests {
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        var buffer = new MpscRingBuffer<Integer>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        // Buffer pequeño: se reintenta para que todos los elementos terminen entrando
+                        while (!buffer.offer(base + i)) Thread.yield();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            // Único consumidor: este hilo. El orden por productor se conserva
+            int[] lastByProducer = new int[producers];
+            Arrays.fill(lastByProducer, -1);
+            Set<Integer> seen = new HashSet<>();
+            List<Integer> batch = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+                batch.clear();
+                if (buffer.drainTo(batch, 256) == 0) Thread.yield();
+                for (int value : batch) {
+                    assertThat(seen.add(value)).as("duplicado %s", value).isTrue();
+                    int p = value / perProducer;
+                    assertThat(value).isGreaterThan(lastByProducer[p]);
+                    lastByProducer[p] = value;
+                }
+            }
+            assertThat(seen).hasSize(producers * perProducer);
+            assertThat(buffer.size()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void fullBufferRejectsWithoutOverwriting() {
+        var buffer = new MpscRingBuffer<String>(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) assertThat(buffer.offer("e" + i)).isTrue();
+        assertThat(buffer.offer("extra")).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<String> out = new ArrayList<>();
+        assertThat(buffer.drainTo(out, 2)).isEqualTo(2);
+        assertThat(buffer.offer("e4")).isTrue();
+        assertThat(buffer.drainTo(out, 10)).isEqualTo(3);
+        assertThat(out).containsExactly("e0", "e1", "e2", "e3", "e4");
+    }
+
+    @Test
+    void drainStopsAtAReservedButUnpublishedSlot() throws Exception {
+        var buffer = new MpscRingBuffer<String>(4);
+        // Un productor reservó la posición 0 (CAS sobre la cola) y todavía no escribe su ranura
+        AtomicLong tail = field(buffer, "tail");
+        tail.incrementAndGet();
+        assertThat(buffer.offer("second")).isTrue();
+
+        List<String> out = new ArrayList<>();
+        assertThat(buffer.drainTo(out, 10)).isZero();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        AtomicReferenceArray<String> slots = field(buffer, "slots");
+        slots.set(0, "first");
+        assertThat(buffer.drainTo(out, 10)).isEqualTo(2);
+        assertThat(out).containsExactly("first", "second");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T field(Object target, String name) throws ReflectiveOperationException {
+        Field f = target.getClass().getDeclaredField(name);
+        f.setAccessible(true);
+        return (T) f.get(target);
+    }
+}
@@ -0,0 +1,81 @@
+package cl.duoc.ms_auth.eventos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventStreamHubTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // Buffer de 2 eventos por suscriptor y un solo hilo de envío
+    private final EventStreamHub hub = new EventStreamHub(registry, new ObjectMapper(), 2, 10, 1, 60_000);
+
+    @AfterEach
+    void shutdown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void slowSubscriberLosesTheOldestEventsAndIsToldHowMany() throws Exception {
+        SlowEmitter slow = new SlowEmitter();
+        hub.subscribe("lento", slow);
+
+        publish(1);
+        // El primer envío queda bloqueado: los siguientes se acumulan en el buffer
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= 5; id++) publish(id);
+
+        slow.release.countDown();
+        List<String> sent = slow.awaitFrames(4);
+
+        assertThat(sent.get(0)).contains("event:user.created").contains("\"userId\":1");
+        // Se descartaron el 2 y el 3; el aviso va antes del siguiente evento
+        assertThat(sent.get(1)).contains("event:dropped").contains("data:2");
+        assertThat(sent.get(2)).contains("\"userId\":4");
+        assertThat(sent.get(3)).contains("\"userId\":5");
+        assertThat(registry.counter("auth.events.dropped").count()).isEqualTo(2);
+    }
+
+    private void publish(long userId) {
+        hub.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, userId,
+                "ext-" + userId, "user" + userId, false, false));
+    }
+
+    /**
+     * Emisor que registra cada evento enviado y bloquea el primer envío hasta {@link #release}.
+     */
+    private static final class SlowEmitter extends SseEmitter {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(builder.build().stream().map(d -> d.getData().toString()).collect(Collectors.joining()));
+        }
+
+        List<String> awaitFrames(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (frames.size() < count && System.nanoTime() < deadline) Thread.sleep(10);
+            assertThat(frames).hasSize(count);
+            return frames;
+        }
+    }
+}
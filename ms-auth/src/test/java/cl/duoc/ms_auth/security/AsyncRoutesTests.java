@@ -0,0 +1,29 @@
+package cl.duoc.ms_auth.security;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Solo los despachos asíncronos del feed de cambios y de SSE se autorizan sin volver a evaluar las reglas.
+ */
+class AsyncRoutesTests {
+
+    @Test
+    void onlyChangeFeedAndEventsSkipAuthorizationOnAsyncDispatch() {
+        assertThat(WebSecurityConfig.ASYNC_ROUTES.matches(request(DispatcherType.ASYNC, "/users/changes"))).isTrue();
+        assertThat(WebSecurityConfig.ASYNC_ROUTES.matches(request(DispatcherType.ASYNC, "/users/events"))).isTrue();
+
+        assertThat(WebSecurityConfig.ASYNC_ROUTES.matches(request(DispatcherType.ASYNC, "/users"))).isFalse();
+        assertThat(WebSecurityConfig.ASYNC_ROUTES.matches(request(DispatcherType.ASYNC, "/roles"))).isFalse();
+        assertThat(WebSecurityConfig.ASYNC_ROUTES.matches(request(DispatcherType.REQUEST, "/users/changes"))).isFalse();
+    }
+
+    private static MockHttpServletRequest request(DispatcherType type, String path) {
+        var request = new MockHttpServletRequest("GET", path);
+        request.setDispatcherType(type);
+        return request;
+    }
+}
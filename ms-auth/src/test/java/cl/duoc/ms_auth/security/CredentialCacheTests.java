@@ -0,0 +1,57 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.entidades.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialCacheTests {
+
+    private static final String PASSWORD = "Secreta123";
+
+    private final CredentialCache cache = new CredentialCache(true, 100, 300);
+
+    @Test
+    void sameCredentialsHitTheCache() {
+        cache.remember(user("$2a$10$hash", "Y", "ADMIN", "LAB_TECH"), PASSWORD);
+
+        // El orden de los roles no importa
+        assertThat(cache.matches(user("$2a$10$hash", "Y", "LAB_TECH", "ADMIN"), PASSWORD)).isTrue();
+        assertThat(cache.matches(user("$2a$10$hash", "Y", "ADMIN", "LAB_TECH"), "Otra123")).isFalse();
+    }
+
+    @Test
+    void passwordActiveOrRoleChangesMiss() {
+        cache.remember(user("$2a$10$hash", "Y", "ADMIN"), PASSWORD);
+
+        assertThat(cache.matches(user("$2a$10$otro", "Y", "ADMIN"), PASSWORD)).isFalse();
+        assertThat(cache.matches(user("$2a$10$hash", "N", "ADMIN"), PASSWORD)).isFalse();
+        assertThat(cache.matches(user("$2a$10$hash", "Y", "ADMIN", "SERVICE"), PASSWORD)).isFalse();
+        assertThat(cache.matches(user("$2a$10$hash", "Y"), PASSWORD)).isFalse();
+    }
+
+    @Test
+    void invalidateAndDisabledCacheMiss() {
+        cache.remember(user("$2a$10$hash", "Y", "ADMIN"), PASSWORD);
+        cache.invalidate("ana");
+        assertThat(cache.matches(user("$2a$10$hash", "Y", "ADMIN"), PASSWORD)).isFalse();
+
+        var disabled = new CredentialCache(false, 100, 300);
+        disabled.remember(user("$2a$10$hash", "Y", "ADMIN"), PASSWORD);
+        assertThat(disabled.matches(user("$2a$10$hash", "Y", "ADMIN"), PASSWORD)).isFalse();
+    }
+
+    private static User user(String passwordHash, String active, String... roles) {
+        Set<Role> roleSet = List.of(roles).stream()
+                .map(name -> new Role(null, name, null, null, null))
+                .collect(Collectors.toCollection(HashSet::new));
+        return new User(1L, UUID.randomUUID(), "ana", "ana@lab.cl", passwordHash, null, active, null, null, roleSet);
+    }
+}
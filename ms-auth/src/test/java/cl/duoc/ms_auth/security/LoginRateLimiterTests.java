@@ -0,0 +1,98 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LoginRateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong();
+    // Usuario: ráfaga 2, un intento cada 10 s. IP: ráfaga 3, uno por segundo. Renovación: ráfaga 1, uno por minuto
+    private final LoginRateLimiter limiter = new LoginRateLimiter(true, 2, 6, 3, 60, 1, 1, 1000, 10, now::get);
+
+    @Test
+    void usernameBurstIsAllowedThenRejectedWithRetryAfter() {
+        limiter.acquire("ana", null);
+        limiter.acquire("ana", null);
+
+        var e = catchThrowableOfType(() -> limiter.acquire("ana", null), TooManyRequestsException.class);
+        assertThat(e.getRetryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    void tokensRefillAtTheSustainedRate() {
+        limiter.acquire("ana", null);
+        limiter.acquire("ana", null);
+
+        advanceSeconds(9);
+        var e = catchThrowableOfType(() -> limiter.acquire("ana", null), TooManyRequestsException.class);
+        assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+
+        advanceSeconds(1);
+        limiter.acquire("ana", null);
+        assertRejected(() -> limiter.acquire("ana", null));
+    }
+
+    @Test
+    void ipBucketIsSharedByEveryUsernameFromThatIp() {
+        limiter.acquire("u1", "10.0.0.1");
+        limiter.acquire("u2", "10.0.0.1");
+        limiter.acquire("u3", "10.0.0.1");
+
+        assertRejected(() -> limiter.acquire("u4", "10.0.0.1"));
+        // Otra IP tiene su propio bucket
+        limiter.acquire("u4", "10.0.0.2");
+    }
+
+    @Test
+    void usernameBucketFollowsTheUserAcrossIps() {
+        limiter.acquire("ana", "10.0.0.1");
+        limiter.acquire("ana", "10.0.0.2");
+
+        assertRejected(() -> limiter.acquire("ana", "10.0.0.3"));
+    }
+
+    @Test
+    void usernamesAreCaseSensitiveLikeTheLookup() {
+        limiter.acquire("Ana", null);
+        limiter.acquire("Ana", null);
+        assertRejected(() -> limiter.acquire("Ana", null));
+
+        limiter.acquire("ana", null);
+    }
+
+    @Test
+    void refreshBucketIsIndependentOfLoginAttempts() {
+        for (int i = 0; i < 3; i++) limiter.acquire("u" + i, "10.0.0.1");
+        assertRejected(() -> limiter.acquire("otro", "10.0.0.1"));
+
+        limiter.acquireRefresh("10.0.0.1");
+        var e = catchThrowableOfType(() -> limiter.acquireRefresh("10.0.0.1"), TooManyRequestsException.class);
+        assertThat(e.getRetryAfterSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    void disabledLimiterNeverRejects() {
+        var disabled = new LoginRateLimiter(false, 1, 1, 1, 1, 1, 1, 1000, 10, now::get);
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                disabled.acquire("ana", "10.0.0.1");
+                disabled.acquireRefresh("10.0.0.1");
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private static void assertRejected(Runnable attempt) {
+        assertThat(catchThrowableOfType(attempt::run, TooManyRequestsException.class)).isNotNull();
+    }
+}
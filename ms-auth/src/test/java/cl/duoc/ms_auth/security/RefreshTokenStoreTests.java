@@ -0,0 +1,68 @@
+package cl.duoc.ms_auth.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenStoreTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final RefreshTokenStore store = new RefreshTokenStore(null, Duration.ofHours(12), 1000, false, clock);
+
+    @Test
+    void rotatedTokenCanBeRedeemedOnlyOnce() {
+        String token = store.issue(1L, null);
+        RefreshTokenStore.Entry entry = store.find(token).orElseThrow();
+
+        assertThat(store.markUsed(entry)).isTrue();
+        // Un segundo canje del mismo token es una reutilización
+        assertThat(store.markUsed(store.find(token).orElseThrow())).isFalse();
+    }
+
+    @Test
+    void revokingAFamilyHidesEveryTokenInIt() {
+        String first = store.issue(1L, null);
+        String family = store.find(first).orElseThrow().familyId();
+        String rotated = store.issue(1L, family);
+        String other = store.issue(1L, null);
+
+        store.revokeFamily(family);
+
+        assertThat(store.find(first)).isEmpty();
+        assertThat(store.find(rotated)).isEmpty();
+        assertThat(store.find(other)).isPresent();
+    }
+
+    @Test
+    void expiredTokensAreNotFound() {
+        String token = store.issue(1L, null);
+        clock.advance(Duration.ofHours(12).minusSeconds(1));
+        assertThat(store.find(token)).isPresent();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(store.find(token)).isEmpty();
+    }
+
+    @Test
+    void unknownTokensAreNotFound() {
+        store.issue(1L, null);
+        assertThat(store.find("no-emitido")).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public Instant instant() { return now; }
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    }
+}
@@ -0,0 +1,88 @@
+package cl.duoc.ms_auth.security;
+
+import cl.duoc.ms_auth.repositorio.TokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lectura incremental de TOKEN_REVOCATIONS con nodos de relojes desfasados, aplicación tras el commit y
+ * precisión de segundos del not-before.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RevocationStoreTests {
+
+    @Autowired RevocationStore store;
+    @Autowired TokenRevocationRepository repository;
+    @Autowired ApplicationEventPublisher events;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void picksUpRevocationsWrittenByNodesWithSlowClocks() {
+        // Una fila reciente hace avanzar la marca de lectura de este nodo hasta "ahora" menos el solape
+        store.revokeUser(UUID.randomUUID().toString());
+        store.refresh();
+
+        // Otro nodo con el reloj 5 minutos atrasado (más que el solape de 30 s) revoca a un usuario
+        var slowNode = new RevocationStore(repository, events, 20, 30, Clock.offset(Clock.systemUTC(), Duration.ofMinutes(-5)));
+        String victim = UUID.randomUUID().toString();
+        slowNode.revokeUser(victim);
+
+        store.refresh();
+        Instant now = Instant.now();
+        var token = new JwtUtils.JwtPayload("victima", victim, List.of("ADMIN"), null, now.plus(Duration.ofMinutes(10)),
+                now.minus(Duration.ofMinutes(10)), now.minus(Duration.ofMinutes(10)), "jti-victima", null);
+        assertThat(store.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void revocationIsAppliedOnlyWhenItsTransactionCommits() {
+        var tx = new TransactionTemplate(transactionManager);
+        var rolledBack = payload(UUID.randomUUID().toString(), "jti-revertido", Instant.now());
+        tx.executeWithoutResult(status -> {
+            store.revokeToken(rolledBack);
+            assertThat(store.isRevoked(rolledBack)).isFalse();
+            status.setRollbackOnly();
+        });
+        assertThat(store.isRevoked(rolledBack)).isFalse();
+
+        var committed = payload(UUID.randomUUID().toString(), "jti-confirmado", Instant.now());
+        tx.executeWithoutResult(status -> {
+            store.revokeToken(committed);
+            assertThat(store.isRevoked(committed)).isFalse();
+        });
+        assertThat(store.isRevoked(committed)).isTrue();
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondAsTheNotBeforeIsRevoked() {
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusMillis(700);
+        var sameSecond = new RevocationStore(repository, events, 20, 30, Clock.fixed(revokedAt, ZoneOffset.UTC));
+        String user = UUID.randomUUID().toString();
+        sameSecond.revokeUser(user);
+
+        // "iat" se trunca a segundos: 12:00:00.900 llega como 12:00:00
+        assertThat(sameSecond.isRevoked(payload(user, null, revokedAt.truncatedTo(ChronoUnit.SECONDS)))).isTrue();
+        assertThat(sameSecond.isRevoked(payload(user, null, revokedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1)))).isFalse();
+    }
+
+    private static JwtUtils.JwtPayload payload(String userId, String jti, Instant issuedAt) {
+        return new JwtUtils.JwtPayload("usuario", userId, List.of("ADMIN"), null, issuedAt.plus(Duration.ofMinutes(10)),
+                issuedAt, issuedAt, jti, null);
+    }
+}
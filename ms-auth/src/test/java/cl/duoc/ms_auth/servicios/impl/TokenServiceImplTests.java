@@ -0,0 +1,92 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.client.CompactClaims;
+import cl.duoc.ms_auth.entidades.Role;
+import cl.duoc.ms_auth.entidades.User;
+import cl.duoc.ms_auth.security.JwtUtils;
+import cl.duoc.ms_auth.security.KeyProvider;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ida y vuelta del perfil compacto en el servicio: emisión con {@link TokenServiceImpl} y validación con
+ * {@link JwtUtils}, con las claves RSA del perfil de pruebas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenServiceImplTests {
+
+    private static final String ISSUER = "auth-ms";
+
+    @Autowired KeyProvider keyProvider;
+    @Autowired CompactClaims compactClaims;
+
+    @Test
+    void compactTokenRoundTrips() throws Exception {
+        var tokens = new TokenServiceImpl(keyProvider, compactClaims, true, ISSUER, 20, 0);
+        var jwt = new JwtUtils(keyProvider.publicKey(), ISSUER, compactClaims);
+        UUID externalId = UUID.randomUUID();
+
+        String token = tokens.generateAccessToken(user(externalId), "familia-1");
+
+        assertThat(SignedJWT.parse(token).getHeader().getType()).isEqualTo(CompactClaims.TYPE);
+        var payload = jwt.validateAndParse(token).orElseThrow();
+        assertThat(payload.username()).isEqualTo("ana");
+        assertThat(payload.userId()).isEqualTo(externalId.toString());
+        assertThat(payload.roles()).containsExactly("ADMIN", "LAB_TECH");
+        assertThat(payload.labCode()).isEqualTo("LAB_1");
+        assertThat(payload.sessionId()).isEqualTo("familia-1");
+        assertThat(payload.authTime()).isEqualTo(payload.issuedAt());
+    }
+
+    @Test
+    void compactTokenWithoutIssuerIsRejected() throws Exception {
+        var jwt = new JwtUtils(keyProvider.publicKey(), ISSUER, compactClaims);
+        assertThat(jwt.validateAndParse(sign(CompactClaims.TYPE, null))).isEmpty();
+        assertThat(jwt.validateAndParse(sign(CompactClaims.TYPE, ISSUER))).isPresent();
+    }
+
+    @Test
+    void tokenWithAnUnknownTypIsRejected() throws Exception {
+        var jwt = new JwtUtils(keyProvider.publicKey(), ISSUER, compactClaims);
+        assertThat(jwt.validateAndParse(sign(new JOSEObjectType("id+jwt"), ISSUER))).isEmpty();
+        assertThat(jwt.validateAndParse(sign(null, ISSUER))).isEmpty();
+    }
+
+    private String sign(JOSEObjectType type, String issuer) throws Exception {
+        Instant now = Instant.now();
+        var header = new JWSHeader.Builder(JWSAlgorithm.RS256).type(type).keyID(keyProvider.keyId()).build();
+        var claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject("ana")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(600)))
+                .claim(CompactClaims.USER_ID, CompactClaims.encodeUserId(UUID.randomUUID()))
+                .claim(CompactClaims.ROLES, compactClaims.encodeRoles(List.of("ADMIN")))
+                .build();
+        var jwt = new SignedJWT(header, claims);
+        jwt.sign(new RSASSASigner(keyProvider.privateKey()));
+        return jwt.serialize();
+    }
+
+    private static User user(UUID externalId) {
+        Set<Role> roles = Set.of(new Role(1L, "LAB_TECH", null, null, null), new Role(2L, "ADMIN", null, null, null));
+        return new User(1L, externalId, "ana", "ana@lab.cl", "hash", "LAB_1", "Y", null, null, roles);
+    }
+}
@@ -0,0 +1,94 @@
+package cl.duoc.ms_auth.servicios.impl;
+
+import cl.duoc.ms_auth.dtos.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserResponseCacheTests {
+
+    private final UserResponseCache cache = new UserResponseCache(new SimpleMeterRegistry(), 100, 60, 5000);
+
+    @Test
+    void readThatStartedBeforeAnInvalidationIsNotCached() {
+        UserResponse stale = user("old@lab.cl");
+        UserResponse fresh = user("new@lab.cl");
+
+        // La escritura confirma (e invalida) mientras la lectura todavía tiene la versión anterior
+        UserResponse first = cache.getById(1L, () -> {
+            cache.invalidate(1L, "ana");
+            return Optional.of(stale);
+        });
+        assertThat(first).isSameAs(stale);
+        assertThat(cache.peekById(1L)).isNull();
+        assertThat(cache.peekByUsername("ana")).isNull();
+
+        assertThat(cache.getByUsername("ana", () -> Optional.of(fresh))).isSameAs(fresh);
+        assertThat(cache.peekById(1L)).isSameAs(fresh);
+    }
+
+    @Test
+    void waiterThatJoinsAfterAnInvalidationDoesNotCacheTheLeadersStaleRead() throws Exception {
+        UserResponse stale = user("old@lab.cl");
+        CountDownLatch leaderReading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+
+        // El líder ya leyó la versión anterior y queda bloqueado antes de devolverla
+        CompletableFuture<UserResponse> leader = CompletableFuture.supplyAsync(() -> cache.getById(1L, () -> {
+            queries.incrementAndGet();
+            leaderReading.countDown();
+            await(release);
+            return Optional.of(stale);
+        }));
+        assertThat(leaderReading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // La escritura confirma y después llega una lectura que se suma a la consulta en curso
+        cache.invalidate(1L, "ana");
+        CompletableFuture<UserResponse> waiter = CompletableFuture.supplyAsync(() -> cache.getById(1L, () -> {
+            queries.incrementAndGet();
+            return Optional.of(user("new@lab.cl"));
+        }));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        assertThat(queries).hasValue(1);
+        assertThat(cache.peekById(1L)).isNull();
+        assertThat(cache.peekByUsername("ana")).isNull();
+    }
+
+    @Test
+    void putAfterInvalidationKeepsTheCacheEmpty() {
+        long gen = cache.generation();
+        cache.invalidate(1L, "ana");
+        cache.put(user("old@lab.cl"), gen);
+        assertThat(cache.peekById(1L)).isNull();
+
+        cache.put(user("new@lab.cl"), cache.generation());
+        assertThat(cache.peekByUsername("ana").email()).isEqualTo("new@lab.cl");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UserResponse user(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new UserResponse(1L, "4b3c4d5e-0000-0000-0000-000000000001", "ana", email, List.of("ADMIN"), null, true, now, now);
+    }
+}